@@ -0,0 +1,82 @@
+package com.fretemais.driver.service.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.fretemais.driver.service.auth.domain.User;
+import com.fretemais.driver.service.auth.security.JwtTokenProvider;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Custos de autenticacao: emissao/validacao de JWT e BCrypt como usado no login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthBenchmark {
+
+    private static final String SECRET = "dev-secret-key-dev-secret-key-dev-secret-key";
+    private static final String PASSWORD = "fretemais@2026";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtTokenProvider uncachedJwtTokenProvider;
+    private User user;
+    private String token;
+    private BCryptPasswordEncoder passwordEncoder;
+    private String passwordHash;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 3600000L, 10_000L, new SimpleMeterRegistry());
+        uncachedJwtTokenProvider = new JwtTokenProvider(SECRET, 3600000L, 0L, new SimpleMeterRegistry());
+
+        user = new User();
+        user.setEmail("admin@fretemais.com");
+        token = jwtTokenProvider.generateToken(user);
+
+        passwordEncoder = new BCryptPasswordEncoder();
+        passwordHash = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Optional<String> resolveSubjectCached() {
+        return jwtTokenProvider.resolveSubject(token);
+    }
+
+    @Benchmark
+    public Optional<String> resolveSubjectUncached() {
+        return uncachedJwtTokenProvider.resolveSubject(token);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+}
@@ -0,0 +1,84 @@
+package com.fretemais.driver.service.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fretemais.driver.service.driver.domain.Driver;
+import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+
+/**
+ * Mapeamento entidade -> DriverResponse e serializacao Jackson de uma pagina de busca.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DriverResponseBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private Driver driver;
+    private Page<DriverResponse> page;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        driver = new Driver();
+        driver.setId(UUID.randomUUID());
+        driver.setName("Maria Oliveira");
+        driver.setEmail("maria.oliveira@fretemais.com");
+        driver.setPhone("11990002222");
+        driver.setCity("Campinas");
+        driver.setState("SP");
+        driver.setVehicleTypes(List.of(VehicleType.VAN, VehicleType.BAU));
+        driver.setCreatedAt(LocalDateTime.now());
+        driver.setUpdatedAt(LocalDateTime.now());
+
+        List<DriverResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(DriverResponse.from(driver));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    @Benchmark
+    public DriverResponse toResponse() {
+        return DriverResponse.from(driver);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,101 @@
+package com.fretemais.driver.service.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.repository.DriverRepository;
+import com.fretemais.driver.service.driver.search.DriverSearchEngine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Busca em memoria sobre {@code drivers} motoristas ativos: pagina com total exato
+ * (varredura completa) e slice (para ao completar a pagina).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DriverSearchEngineBenchmark {
+
+    private static final String[] CITIES = {"Sao Paulo", "Campinas", "Curitiba", "Recife", "Salvador"};
+    private static final String[] STATES = {"SP", "SP", "PR", "PE", "BA"};
+
+    @Param({"10000", "100000"})
+    private int drivers;
+
+    private DriverSearchEngine engine;
+    private DriverFilter stateAndVehicle;
+    private DriverFilter text;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        VehicleType[] types = VehicleType.values();
+        List<DriverResponse> loaded = new ArrayList<>(drivers);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < drivers; i++) {
+            loaded.add(new DriverResponse(UUID.randomUUID(), "Motorista " + i, "motorista" + i + "@fretemais.com",
+                    "1199" + i, CITIES[i % CITIES.length], STATES[i % STATES.length],
+                    Set.of(types[i % types.length]), true, now.minusMinutes(i), now, 0L, null, null));
+        }
+
+        DriverRepository driverRepository = mock(DriverRepository.class);
+        when(driverRepository.streamResponses(any(), any(), anyInt())).thenReturn(loaded.stream());
+
+        engine = new DriverSearchEngine(driverRepository, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), true, 1000);
+        engine.rebuild();
+
+        stateAndVehicle = new DriverFilter(null, null, "SP", Set.of(VehicleType.VAN, VehicleType.TRUCK));
+        text = new DriverFilter("motorista12", null, null, null);
+        pageable = PageRequest.of(2, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
+    @Benchmark
+    public Slice<DriverResponse> pageWithTotal() {
+        return engine.page(stateAndVehicle, pageable).orElseThrow();
+    }
+
+    @Benchmark
+    public Slice<DriverResponse> sliceWithoutTotal() {
+        return engine.slice(stateAndVehicle, pageable).orElseThrow();
+    }
+
+    @Benchmark
+    public Slice<DriverResponse> textPageWithTotal() {
+        return engine.page(text, pageable).orElseThrow();
+    }
+}
@@ -0,0 +1,82 @@
+package com.fretemais.driver.service.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.fretemais.driver.service.driver.domain.Driver;
+import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.specification.DriverSpecification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Montagem do predicado de busca para cada combinacao de filtros.
+ * {@code filters} e uma mascara: 1 = text, 2 = city, 4 = state, 8 = vehicleTypes.
+ * O metamodelo do Hibernate e criado sem conexao com o banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DriverSpecificationBenchmark {
+
+    @Param({"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15"})
+    private int filters;
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+    private DriverFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Driver.class)
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+
+        filter = new DriverFilter(
+                (filters & 1) != 0 ? "maria" : null,
+                (filters & 2) != 0 ? "Sao Paulo" : null,
+                (filters & 4) != 0 ? "SP" : null,
+                (filters & 8) != 0 ? Set.of(VehicleType.VAN, VehicleType.TRUCK) : null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate buildPredicate() {
+        Specification<Driver> spec = DriverSpecification.matching(filter);
+        CriteriaQuery<Driver> query = criteriaBuilder.createQuery(Driver.class);
+        Root<Driver> root = query.from(Driver.class);
+
+        return spec.toPredicate(root, query, criteriaBuilder);
+    }
+}
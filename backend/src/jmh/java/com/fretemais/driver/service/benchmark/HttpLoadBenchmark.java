@@ -0,0 +1,103 @@
+package com.fretemais.driver.service.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Carga HTTP contra uma instancia em execucao, para comparar platform threads e
+ * virtual threads. Suba o backend com {@code VIRTUAL_THREADS=false} e depois com
+ * {@code true} e rode em cada caso:
+ * <pre>
+ * ./mvnw -Pbenchmark -DskipTests verify -Djmh.args="HttpLoadBenchmark -p baseUrl=http://localhost:8080"
+ * </pre>
+ * O modo SampleTime reporta throughput e percentis (p99) de cada endpoint.
+ * Respostas 503 do limite de concorrencia contam como erro da operacao.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Threads(64)
+@Fork(1)
+public class HttpLoadBenchmark {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    @Param("http://localhost:8080")
+    public String baseUrl;
+
+    @Param("admin@fretemais.com")
+    public String email;
+
+    @Param("fretemais@2026")
+    public String password;
+
+    private HttpClient client;
+    private HttpRequest loginRequest;
+    private HttpRequest searchRequest;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        loginRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .build();
+
+        HttpResponse<String> login = send(loginRequest);
+        Matcher matcher = TOKEN.matcher(login.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login falhou: " + login.statusCode());
+        }
+
+        searchRequest = HttpRequest.newBuilder(URI.create(baseUrl
+                        + "/drivers?text=ma&state=SP&size=20&sortBy=NAME&sortDir=ASC&totalMode=ESTIMATE"))
+                .header("Authorization", "Bearer " + matcher.group(1))
+                .GET()
+                .build();
+    }
+
+    @Benchmark
+    public int searchDrivers() throws IOException, InterruptedException {
+        return send(searchRequest).statusCode();
+    }
+
+    @Benchmark
+    public int login() throws IOException, InterruptedException {
+        return send(loginRequest).statusCode();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri().getPath() + " retornou " + response.statusCode());
+        }
+
+        return response;
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.fretemais.driver.service.common.api.ApiError;
 import com.fretemais.driver.service.auth.dto.LoginRequest;
 import com.fretemais.driver.service.auth.dto.LoginResponse;
+import com.fretemais.driver.service.auth.dto.RefreshTokenRequest;
 import com.fretemais.driver.service.auth.service.AuthService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,7 +31,8 @@ public class AuthController {
     @PostMapping("/login")
     @Operation(
             summary = "Autenticar usuario",
-            description = "Retorna um token JWT valido para acessar as rotas protegidas.",
+            description = "Retorna um token JWT valido para acessar as rotas protegidas e um refresh token "
+                    + "para renova-lo em POST /auth/refresh.",
             security = {}
     )
     @ApiResponses({
@@ -54,4 +56,44 @@ public class AuthController {
         LoginResponse response = authService.login(loginRequest);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/refresh")
+    @Operation(
+            summary = "Renovar token",
+            description = "Troca um refresh token por um novo token JWT e um novo refresh token. "
+                    + "O refresh token enviado deixa de valer; reenvia-lo revoga toda a sessao.",
+            security = {}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Token renovado com sucesso",
+                    content = @Content(schema = @Schema(implementation = LoginResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Refresh token invalido, expirado ou revogado",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    public ResponseEntity<LoginResponse> refresh(@RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    @Operation(
+            summary = "Encerrar sessao",
+            description = "Revoga o refresh token informado e os demais emitidos a partir do mesmo login.",
+            security = {}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Sessao encerrada"
+            )
+    })
+    public ResponseEntity<Void> logout(@RequestBody RefreshTokenRequest request) {
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
+    }
 }
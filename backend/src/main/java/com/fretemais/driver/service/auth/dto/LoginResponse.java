@@ -1,4 +1,4 @@
 package com.fretemais.driver.service.auth.dto;
 
-public record LoginResponse(String token, String expiresAt) {
+public record LoginResponse(String token, String expiresAt, String refreshToken) {
 }
@@ -0,0 +1,4 @@
+package com.fretemais.driver.service.auth.dto;
+
+public record RefreshTokenRequest(String refreshToken) {
+}
@@ -0,0 +1,32 @@
+package com.fretemais.driver.service.auth.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.fretemais.driver.service.auth.domain.RefreshToken;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Revoga o token se ainda estiver ativo. Retorna 0 quando outra requisicao ja o revogou.
+     */
+    @Modifying
+    @Query("update refresh_tokens t set t.revokedAt = :now where t.id = :id and t.revokedAt is null")
+    int revoke(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update refresh_tokens t set t.revokedAt = :now where t.familyId = :familyId and t.revokedAt is null")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from refresh_tokens t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
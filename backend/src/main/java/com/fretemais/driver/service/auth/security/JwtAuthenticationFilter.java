@@ -28,25 +28,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = getTokenFromRequest(request);
 
-        if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-
-            String email = jwtTokenProvider.getSubject(token);
+        if (StringUtils.hasText(token)) {
+            jwtTokenProvider.resolveSubject(token)
+                    .ifPresent(email -> authenticate(request, email));
+        }
 
-            UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(
-                            email,
-                            null,
-                            null
-                    );
+        filterChain.doFilter(request, response);
+    }
 
-            authentication.setDetails(
-                    new WebAuthenticationDetailsSource().buildDetails(request)
-            );
+    private void authenticate(HttpServletRequest request, String email) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(
+                        email,
+                        null,
+                        null
+                );
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-        }
+        authentication.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request)
+        );
 
-        filterChain.doFilter(request, response);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
     private String getTokenFromRequest(HttpServletRequest request) {
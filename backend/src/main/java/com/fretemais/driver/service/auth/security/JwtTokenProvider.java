@@ -1,30 +1,65 @@
 package com.fretemais.driver.service.auth.security;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.fretemais.driver.service.auth.domain.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 @Component
 public class JwtTokenProvider {
 
     private final Key secretKey;
     private final long expirationInMillis;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final Timer cachedValidations;
+    private final Timer verifiedValidations;
+    private final Timer invalidValidations;
 
     public JwtTokenProvider(
             @Value("${security.jwt.secret}") String secret,
-            @Value("${security.jwt.expiration}") long expirationInMillis) {
+            @Value("${security.jwt.expiration}") long expirationInMillis,
+            @Value("${security.jwt.verified-cache-size:10000}") long verifiedCacheSize,
+            MeterRegistry meterRegistry) {
 
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
         this.expirationInMillis = expirationInMillis;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.creating((String digest, VerifiedToken verified) ->
+                        Duration.ofMillis(Math.max(0, verified.expiresAt() - System.currentTimeMillis()))))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtVerifiedTokens");
+        this.cachedValidations = validationTimer(meterRegistry, "cached");
+        this.verifiedValidations = validationTimer(meterRegistry, "verified");
+        this.invalidValidations = validationTimer(meterRegistry, "invalid");
     }
 
     /**
@@ -61,16 +96,66 @@ public class JwtTokenProvider {
         return getClaims(token).getSubject();
     }
 
+    /**
+     * Valida o token e extrai o subject com um unico parse. Tokens ja verificados
+     * ficam em cache (pelo digest SHA-256) ate o exp, dispensando nova verificacao
+     * da assinatura.
+     */
+    public Optional<String> resolveSubject(String token) {
+        long start = System.nanoTime();
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+
+        if (cached != null) {
+            cachedValidations.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(cached.subject());
+        }
+
+        Claims claims;
+        try {
+            claims = getClaims(token);
+        } catch (Exception ex) {
+            invalidValidations.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.empty();
+        }
+
+        if (claims.getSubject() == null) {
+            invalidValidations.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.empty();
+        }
+
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(digest, new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime()));
+        }
+
+        verifiedValidations.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.of(claims.getSubject());
+    }
+
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.jwt.validation")
+                .description("Tempo de validacao do token JWT por resultado")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponivel", ex);
+        }
     }
 
     public long getExpirationInMillis() {
         return expirationInMillis;
     }
 
+    private record VerifiedToken(String subject, long expiresAt) {
+    }
 }
@@ -5,11 +5,14 @@ import org.springframework.stereotype.Service;
 
 import com.fretemais.driver.service.auth.dto.LoginRequest;
 import com.fretemais.driver.service.auth.dto.LoginResponse;
+import com.fretemais.driver.service.auth.dto.RefreshTokenRequest;
 import com.fretemais.driver.service.auth.domain.User;
 import com.fretemais.driver.service.auth.exception.UnauthorizedException;
 import com.fretemais.driver.service.auth.repository.UserRepository;
 import com.fretemais.driver.service.auth.security.JwtTokenProvider;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -19,30 +22,86 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final MeterRegistry meterRegistry;
 
     public LoginResponse login(LoginRequest loginRequest) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
 
-        User user = userRepository.findByEmail(loginRequest.email())
-                .orElseThrow(() -> new UnauthorizedException("Credenciais inválidas"));
+        try {
+            User user = userRepository.findByEmail(loginRequest.email()).orElse(null);
 
-        if (!Boolean.TRUE.equals(user.getActive())) {
-            throw new UnauthorizedException("Credenciais inválidas");
+            if (user == null) {
+                outcome = "unknown_user";
+                throw new UnauthorizedException("Credenciais inválidas");
+            }
+
+            if (!Boolean.TRUE.equals(user.getActive())) {
+                outcome = "inactive";
+                throw new UnauthorizedException("Credenciais inválidas");
+            }
+
+            boolean passwordMatches = passwordEncoder.matches(
+                    loginRequest.password(),
+                    user.getPassword()
+            );
+
+            if (!passwordMatches) {
+                outcome = "bad_password";
+                throw new UnauthorizedException("Credenciais inválidas");
+            }
+
+            LoginResponse response = issueTokens(user, refreshTokenService.issue(user));
+            outcome = "success";
+            return response;
+        } finally {
+            sample.stop(meterRegistry.timer("auth.login", "outcome", outcome));
         }
+    }
 
-        boolean passwordMatches = passwordEncoder.matches(
-                loginRequest.password(),
-                user.getPassword()
-        );
+    /**
+     * Emite um novo token de acesso a partir de um refresh token, sem conferir a senha
+     * (e sem BCrypt). O refresh token usado e trocado por outro.
+     */
+    public LoginResponse refresh(RefreshTokenRequest request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
 
-        if (!passwordMatches) {
-            throw new UnauthorizedException("Credenciais inválidas");
+        try {
+            RefreshTokenService.Rotation rotation;
+            try {
+                rotation = refreshTokenService.rotate(request.refreshToken());
+            } catch (UnauthorizedException ex) {
+                outcome = "invalid";
+                throw ex;
+            }
+
+            User user = userRepository.findById(rotation.userId()).orElse(null);
+
+            if (user == null || !Boolean.TRUE.equals(user.getActive())) {
+                outcome = "inactive";
+                refreshTokenService.revoke(rotation.refreshToken());
+                throw new UnauthorizedException("Credenciais inválidas");
+            }
+
+            LoginResponse response = issueTokens(user, rotation.refreshToken());
+            outcome = "success";
+            return response;
+        } finally {
+            sample.stop(meterRegistry.timer("auth.refresh", "outcome", outcome));
         }
+    }
 
-        String token = jwtTokenProvider.generateToken(user);
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.refreshToken());
+    }
 
+    private LoginResponse issueTokens(User user, String refreshToken) {
         return new LoginResponse(
-                token,
-                String.valueOf(jwtTokenProvider.getExpirationInMillis())
+                jwtTokenProvider.generateToken(user),
+                String.valueOf(jwtTokenProvider.getExpirationInMillis()),
+                refreshToken
         );
     }
 }
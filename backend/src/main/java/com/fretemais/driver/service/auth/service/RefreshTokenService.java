@@ -0,0 +1,130 @@
+package com.fretemais.driver.service.auth.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fretemais.driver.service.auth.domain.RefreshToken;
+import com.fretemais.driver.service.auth.domain.User;
+import com.fretemais.driver.service.auth.exception.UnauthorizedException;
+import com.fretemais.driver.service.auth.repository.RefreshTokenRepository;
+
+/**
+ * Refresh tokens opacos e de uso unico. O token e aleatorio (256 bits), entao basta um
+ * SHA-256 para guarda-lo: a conferencia custa microssegundos, ao contrario do BCrypt da
+ * senha. Cada renovacao revoga o token usado e emite o proximo da mesma familia; apresentar
+ * um token ja revogado indica copia e revoga a familia inteira.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final String INVALID_TOKEN = "Refresh token inválido";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration expiration;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${security.refresh-token.expiration:30d}") Duration expiration) {
+
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expiration = expiration;
+    }
+
+    /**
+     * Abre uma nova familia para o usuario, usado no login.
+     */
+    @Transactional
+    public String issue(User user) {
+        return issue(user.getId(), UUID.randomUUID(), LocalDateTime.now());
+    }
+
+    /**
+     * Troca o token por um novo da mesma familia. A revogacao da familia no reuso precisa
+     * ser gravada mesmo com a excecao, dai o {@code noRollbackFor}.
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String token) {
+        RefreshToken current = find(token);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current.getRevokedAt() != null || refreshTokenRepository.revoke(current.getId(), now) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new UnauthorizedException(INVALID_TOKEN);
+        }
+
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new UnauthorizedException(INVALID_TOKEN);
+        }
+
+        return new Rotation(current.getUserId(), issue(current.getUserId(), current.getFamilyId(), now));
+    }
+
+    /**
+     * Revoga a familia do token (logout). Tokens desconhecidos sao ignorados.
+     */
+    @Transactional
+    public void revoke(String token) {
+        if (token == null || token.isBlank()) {
+            return;
+        }
+
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .ifPresent(current -> refreshTokenRepository.revokeFamily(current.getFamilyId(), LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${security.refresh-token.cleanup-interval:3600000}")
+    @Transactional
+    public int deleteExpired() {
+        return refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private RefreshToken find(String token) {
+        if (token == null || token.isBlank()) {
+            throw new UnauthorizedException(INVALID_TOKEN);
+        }
+
+        return refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new UnauthorizedException(INVALID_TOKEN));
+    }
+
+    private String issue(UUID userId, UUID familyId, LocalDateTime now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUserId(userId);
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setExpiresAt(now.plus(expiration));
+        refreshTokenRepository.save(refreshToken);
+
+        return token;
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponivel", ex);
+        }
+    }
+
+    public record Rotation(UUID userId, String refreshToken) {
+    }
+}
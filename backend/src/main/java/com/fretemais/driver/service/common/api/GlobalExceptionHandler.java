@@ -5,16 +5,22 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import com.fretemais.driver.service.auth.exception.UnauthorizedException;
+import com.fretemais.driver.service.common.exception.ServiceBusyException;
+import com.fretemais.driver.service.driver.exception.DriverGeoIndexUnavailableException;
 import com.fretemais.driver.service.driver.exception.DriverNotFoundException;
+import com.fretemais.driver.service.driver.exception.DriverVersionConflictException;
+import com.fretemais.driver.service.driver.exception.InvalidCursorException;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
@@ -36,6 +42,48 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(DriverVersionConflictException.class)
+    public ResponseEntity<ApiError> handleDriverVersionConflict(
+            DriverVersionConflictException ex,
+            HttpServletRequest request
+    ) {
+        ApiError error = ApiError.of(
+                HttpStatus.CONFLICT,
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(DriverGeoIndexUnavailableException.class)
+    public ResponseEntity<ApiError> handleDriverGeoIndexUnavailable(
+            DriverGeoIndexUnavailableException ex,
+            HttpServletRequest request
+    ) {
+        ApiError error = ApiError.of(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiError> handleInvalidCursor(
+            InvalidCursorException ex,
+            HttpServletRequest request
+    ) {
+        ApiError error = ApiError.of(
+                HttpStatus.BAD_REQUEST,
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+        return ResponseEntity.badRequest().body(error);
+    }
+
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<ApiError> handleUnauthorized(
             UnauthorizedException ex,
@@ -50,6 +98,37 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiError> handleServiceBusy(
+            ServiceBusyException ex,
+            HttpServletRequest request
+    ) {
+        ApiError error = ApiError.of(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage(),
+                request.getRequestURI(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    /**
+     * O limite de concorrencia e pedido ao abrir a conexao; dentro de uma transacao o
+     * gerenciador embrulha a recusa em {@link CannotCreateTransactionException}.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ApiError> handleCannotCreateTransaction(
+            CannotCreateTransactionException ex,
+            HttpServletRequest request
+    ) {
+        if (ex.getMostSpecificCause() instanceof ServiceBusyException busy) {
+            return handleServiceBusy(busy, request);
+        }
+        return handleGenericError(ex, request);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidationError(
             MethodArgumentNotValidException ex,
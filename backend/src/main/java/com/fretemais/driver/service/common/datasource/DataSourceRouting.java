@@ -0,0 +1,44 @@
+package com.fretemais.driver.service.common.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Estado de roteamento da requisicao atual. Quando o primario e forcado (janela de
+ * read-your-writes), ate as transacoes somente leitura usam o primario.
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    public static void forcePrimary() {
+        PRIMARY_FORCED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    public static void clear() {
+        PRIMARY_FORCED.remove();
+    }
+
+    /**
+     * Executa a acao com o primario forcado e restaura o estado anterior. Para leituras
+     * que nao podem ficar atrasadas em relacao ao primario, como a carga dos indices
+     * em memoria que depois recebem write-through.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        boolean alreadyForced = isPrimaryForced();
+        forcePrimary();
+        try {
+            return action.get();
+        } finally {
+            if (!alreadyForced) {
+                clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.fretemais.driver.service.common.datasource;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Envia as conexoes de transacoes somente leitura para a replica e todo o resto para o
+ * primario. A decisao acontece quando a conexao fisica e obtida; por isso deve ficar
+ * atras de um {@code LazyConnectionDataSourceProxy}, que adia a conexao ate o primeiro
+ * comando, quando a transacao ja foi marcada como somente leitura.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Target determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !DataSourceRouting.isPrimaryForced()) {
+            return Target.REPLICA;
+        }
+
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,107 @@
+package com.fretemais.driver.service.common.web;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.fretemais.driver.service.common.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Limita quantas requisicoes usam o banco ao mesmo tempo. O limite e derivado do tamanho
+ * do pool do Hikari: com virtual threads o container aceita requisicoes sem limite
+ * pratico, e sem essa barreira elas ficariam enfileiradas no pool ate o
+ * connection-timeout. Por isso so e registrado com {@code http.concurrency.enabled}, que
+ * acompanha as virtual threads.
+ * O interceptor so marca a requisicao; a permissao e pedida por
+ * {@link ConcurrencyLimitedDataSource} quando ela pega a primeira conexao, e vale ate o
+ * fim da requisicao. Assim rotas que nao vao ao banco (envios de posicao, stream,
+ * acertos no cache, busca em memoria) nunca esperam. Acima do limite a requisicao espera
+ * no maximo {@code acquireTimeout} e depois recebe 503.
+ * Em respostas assincronas (SSE) a permissao vale apenas ate o handler retornar: o
+ * container nao chama {@code afterCompletion} enquanto a conexao fica aberta, e o
+ * redespacho ASYNC que a encerra nao disputa nova permissao.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final ThreadLocal<HttpServletRequest> current = new ThreadLocal<>();
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final Counter rejected;
+
+    public ConcurrencyLimitInterceptor(int limit, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(limit, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.rejected = Counter.builder("http.concurrency.rejected")
+                .description("Requisicoes recusadas por exceder o limite de concorrencia")
+                .register(meterRegistry);
+
+        Gauge.builder("http.concurrency.in-flight", permits, semaphore -> limit - semaphore.availablePermits())
+                .description("Requisicoes em execucao dentro do limite de concorrencia")
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.limit", () -> limit)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            current.set(request);
+        }
+        return true;
+    }
+
+    /**
+     * Pede a permissao da requisicao em andamento nesta thread, se ainda nao tiver. Fora
+     * de uma requisicao limitada (tarefas agendadas, migracoes, filtros) nao faz nada.
+     */
+    public void acquire() throws InterruptedException {
+        HttpServletRequest request = current.get();
+
+        if (request == null || request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return;
+        }
+
+        if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+            rejected.increment();
+            throw new ServiceBusyException("Servico ocupado, tente novamente");
+        }
+
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        if (current.get() == request) {
+            current.remove();
+        }
+
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+}
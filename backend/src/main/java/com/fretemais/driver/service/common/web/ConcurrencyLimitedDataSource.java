@@ -0,0 +1,45 @@
+package com.fretemais.driver.service.common.web;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Pede a permissao do {@link ConcurrencyLimitInterceptor} antes de entregar uma conexao.
+ * O interceptor e resolvido na primeira conexao, e nao na criacao, porque o limite
+ * depende do tamanho do pool deste mesmo DataSource.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    private final Supplier<ConcurrencyLimitInterceptor> limiter;
+
+    public ConcurrencyLimitedDataSource(DataSource target, Supplier<ConcurrencyLimitInterceptor> limiter) {
+        super(target);
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return super.getConnection(username, password);
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            limiter.get().acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido aguardando o limite de concorrencia", ex);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.fretemais.driver.service.common.web;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.fretemais.driver.service.common.datasource.DataSourceRouting;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Read-your-writes com replica: depois de uma escrita, as leituras do mesmo usuario
+ * usam o primario durante {@code window}, tempo suficiente para a replica alcancar.
+ * A escrita e registrada no inicio e no fim da requisicao, para que uma leitura
+ * disparada logo apos a resposta ja encontre a marca. O registro fica na memoria da
+ * instancia. Em respostas assincronas (SSE) o roteamento e limpo assim que o handler
+ * retorna, pois a thread volta ao container sem passar por {@code afterCompletion}.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesInterceptor(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String client = client(request);
+        if (client == null) {
+            return true;
+        }
+
+        if (!READ_METHODS.contains(request.getMethod())) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+
+        if (recentWriters.getIfPresent(client) != null) {
+            DataSourceRouting.forcePrimary();
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler) {
+
+        DataSourceRouting.clear();
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            Exception ex) {
+
+        DataSourceRouting.clear();
+
+        String client = client(request);
+        if (client != null && !READ_METHODS.contains(request.getMethod())) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+
+    private static String client(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal == null ? null : principal.getName();
+    }
+}
@@ -0,0 +1,87 @@
+package com.fretemais.driver.service.config;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fretemais.driver.service.common.web.ConcurrencyLimitInterceptor;
+import com.fretemais.driver.service.common.web.ConcurrencyLimitedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Ativado por {@code http.concurrency.enabled}, que por padrao acompanha
+ * {@code spring.threads.virtual.enabled}: com threads de plataforma o proprio pool de
+ * threads do Tomcat ja limita a concorrencia. O DataSource principal passa a pedir a
+ * permissao do limite a cada conexao de uma requisicao em {@code /drivers/**} ou
+ * {@code /auth/**}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "http.concurrency.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final ObjectProvider<ConcurrencyLimitInterceptor> concurrencyLimitInterceptor;
+
+    public ConcurrencyLimitConfig(ObjectProvider<ConcurrencyLimitInterceptor> concurrencyLimitInterceptor) {
+        this.concurrencyLimitInterceptor = concurrencyLimitInterceptor;
+    }
+
+    /**
+     * O limite e {@code http.concurrency.limit} quando informado, senao o tamanho maximo
+     * do pool do Hikari vezes {@code http.concurrency.per-connection}.
+     */
+    @Bean
+    public ConcurrencyLimitInterceptor concurrencyLimitInterceptor(
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${http.concurrency.limit:0}") int limit,
+            @Value("${http.concurrency.per-connection:2}") int perConnection,
+            @Value("${http.concurrency.acquire-timeout:1s}") Duration acquireTimeout) throws SQLException {
+
+        int effectiveLimit = limit > 0 ? limit : poolSize(dataSource) * perConnection;
+        return new ConcurrencyLimitInterceptor(effectiveLimit, acquireTimeout, meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSource(
+            ObjectProvider<ConcurrencyLimitInterceptor> concurrencyLimitInterceptor) {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && DATA_SOURCE_BEAN.equals(beanName)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, concurrencyLimitInterceptor::getObject);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor.getObject())
+                .addPathPatterns("/drivers/**", "/auth/**");
+    }
+
+    private static int poolSize(DataSource dataSource) throws SQLException {
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        }
+
+        return DEFAULT_POOL_SIZE;
+    }
+}
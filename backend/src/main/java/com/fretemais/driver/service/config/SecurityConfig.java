@@ -2,6 +2,7 @@ package com.fretemais.driver.service.config;
 
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -9,6 +10,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -19,15 +21,22 @@ import com.fretemais.driver.service.auth.security.JwtTokenProvider;
 import com.fretemais.driver.service.common.api.RestAccessDeniedHandler;
 import com.fretemais.driver.service.common.api.RestAuthenticationEntryPoint;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final ObjectMapper objectMapper;
+    private final int managementPort;
 
-    public SecurityConfig(JwtTokenProvider jwtTokenProvider, ObjectMapper objectMapper) {
+    public SecurityConfig(
+            JwtTokenProvider jwtTokenProvider,
+            ObjectMapper objectMapper,
+            @Value("${management.server.port:-1}") int managementPort) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.objectMapper = objectMapper;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -43,7 +52,11 @@ public class SecurityConfig {
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/auth/login").permitAll()
+                // Despachos assincronos (envio de SSE) ja foram autorizados na requisicao original.
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                .requestMatchers("/auth/login", "/auth/refresh", "/auth/logout").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers(prometheusOnManagementPort()).permitAll()
                 .requestMatchers(
                     "/swagger-ui/**",
                     "/swagger-ui.html",
@@ -63,13 +76,22 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * O scrape do Prometheus so dispensa o token na porta de gerenciamento
+     * ({@code management.server.port}), que nao e publicada junto com a API.
+     */
+    private RequestMatcher prometheusOnManagementPort() {
+        return request -> request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOriginPatterns(List.of("*"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "If-None-Match"));
+        configuration.setExposedHeaders(List.of("Authorization", "ETag"));
         configuration.setAllowCredentials(false);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
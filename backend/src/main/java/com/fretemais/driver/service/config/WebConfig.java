@@ -0,0 +1,19 @@
+package com.fretemais.driver.service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fretemais.driver.service.driver.dto.DriverField;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * {@code fields=name,vehicleTypes}: os nomes do JSON viram {@link DriverField}.
+     */
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, DriverField.class, DriverField::fromName);
+    }
+}
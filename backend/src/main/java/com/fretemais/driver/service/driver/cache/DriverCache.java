@@ -0,0 +1,129 @@
+package com.fretemais.driver.service.driver.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fretemais.driver.service.common.datasource.DataSourceRouting;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cache local de motoristas ativos por id. Tamanho, TTL e estatisticas
+ * (hit/miss/eviction) vem de spring.cache.caffeine.spec; as metricas
+ * sao publicadas pelo Actuator como cache.gets e cache.evictions.
+ * As gravacoes sao atomicas por id e nunca trocam uma entrada por outra de versao menor.
+ * Uma remocao deixa uma lapide com a versao removida por {@code drivers.cache.tombstone-ttl},
+ * para que uma leitura iniciada antes dela nao devolva o motorista ao cache.
+ * Com replica de leitura, so escritas e leituras no primario preenchem o cache: uma
+ * replica atrasada devolveria dados mais antigos que o write-through.
+ */
+@Component
+public class DriverCache {
+
+    public static final String NAME = "drivers";
+
+    private final Cache cache;
+    private final ConcurrentMap<Object, Object> entries;
+    private final ConcurrentMap<UUID, Long> tombstones;
+    private final boolean replicaEnabled;
+
+    public DriverCache(
+            CacheManager cacheManager,
+            @Value("${drivers.cache.tombstone-ttl:30s}") Duration tombstoneTtl,
+            @Value("${datasource.replica.enabled:false}") boolean replicaEnabled) {
+
+        this.cache = cacheManager.getCache(NAME);
+        this.replicaEnabled = replicaEnabled;
+        this.entries = entries(cache);
+        this.tombstones = Caffeine.newBuilder()
+                .expireAfterWrite(tombstoneTtl)
+                .<UUID, Long>build()
+                .asMap();
+    }
+
+    public Optional<DriverResponse> get(UUID id) {
+        DriverResponse driver = cache.get(id, DriverResponse.class);
+
+        if (driver == null || !driver.active()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(driver);
+    }
+
+    /**
+     * Grava o motorista se nao houver versao mais nova em cache nem remocao posterior
+     * registrada. Motorista inativo sai do cache e deixa lapide.
+     */
+    public void put(DriverResponse driver) {
+        if (entries == null) {
+            return;
+        }
+
+        entries.compute(driver.id(), (id, current) -> {
+            if (!driver.active()) {
+                tombstones.merge(driver.id(), driver.version(), Math::max);
+                return null;
+            }
+
+            Long removed = tombstones.get(driver.id());
+            if (removed != null && removed >= driver.version()) {
+                return null;
+            }
+
+            return current instanceof DriverResponse cached && cached.version() > driver.version()
+                    ? cached
+                    : driver;
+        });
+    }
+
+    /**
+     * Troca so a posicao de um motorista ja em cache, de forma atomica. Ausente, removido
+     * ou ja em versao mais nova que a da posicao, nada muda.
+     */
+    public void updateLocation(UUID id, double latitude, double longitude, long version) {
+        if (entries != null) {
+            entries.computeIfPresent(id, (key, current) ->
+                    current instanceof DriverResponse cached && cached.version() <= version
+                            ? cached.withLocation(latitude, longitude)
+                            : current);
+        }
+    }
+
+    /**
+     * Grava um motorista lido do banco, com as mesmas regras de {@link #put}. Ignorado
+     * quando a leitura foi para a replica (transacao somente leitura sem o primario forcado).
+     */
+    public void fill(DriverResponse driver) {
+        if (replicaEnabled
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !DataSourceRouting.isPrimaryForced()) {
+            return;
+        }
+
+        put(driver);
+    }
+
+    /**
+     * Mapa nativo do cache, para gravacoes atomicas. Nulo quando o cache nao guarda
+     * nada (spring.cache.type=none).
+     */
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<Object, Object> entries(Cache cache) {
+        Object nativeCache = cache.getNativeCache();
+
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return (ConcurrentMap<Object, Object>) caffeine.asMap();
+        }
+
+        return nativeCache instanceof ConcurrentMap<?, ?> map ? (ConcurrentMap<Object, Object>) map : null;
+    }
+}
@@ -1,35 +1,67 @@
 package com.fretemais.driver.service.driver.controller;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fretemais.driver.service.driver.domain.Driver;
 import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.domain.VehicleTypes;
+import com.fretemais.driver.service.driver.dto.CompactPage;
+import com.fretemais.driver.service.driver.dto.CursorPage;
+import com.fretemais.driver.service.driver.dto.DriverBatchGetRequest;
+import com.fretemais.driver.service.driver.dto.DriverBatchGetResponse;
+import com.fretemais.driver.service.driver.dto.DriverChangeFeed;
 import com.fretemais.driver.service.driver.dto.DriverCreateRequest;
+import com.fretemais.driver.service.driver.dto.DriverEnvelope;
+import com.fretemais.driver.service.driver.dto.DriverFacets;
+import com.fretemais.driver.service.driver.dto.DriverField;
+import com.fretemais.driver.service.driver.dto.DriverFileFormat;
 import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.dto.DriverImportResult;
+import com.fretemais.driver.service.driver.dto.DriverLocationBatchRequest;
+import com.fretemais.driver.service.driver.dto.DriverLocationRequest;
+import com.fretemais.driver.service.driver.dto.DriverPatchRequest;
 import com.fretemais.driver.service.driver.dto.DriverResponse;
 import com.fretemais.driver.service.driver.dto.DriverSortBy;
+import com.fretemais.driver.service.driver.dto.DriverTotalMode;
 import com.fretemais.driver.service.driver.dto.DriverUpdateRequest;
+import com.fretemais.driver.service.driver.dto.DriverVersion;
+import com.fretemais.driver.service.driver.dto.DriverView;
+import com.fretemais.driver.service.driver.dto.NearbyDriver;
+import com.fretemais.driver.service.driver.service.DriverChangeFeedService;
+import com.fretemais.driver.service.driver.service.DriverExportService;
+import com.fretemais.driver.service.driver.service.DriverFacetService;
+import com.fretemais.driver.service.driver.service.DriverImportService;
+import com.fretemais.driver.service.driver.service.DriverLocationService;
 import com.fretemais.driver.service.driver.service.DriverService;
+import com.fretemais.driver.service.driver.stream.DriverStreamBroadcaster;
 
 import com.fretemais.driver.service.common.api.ApiError;
 import io.swagger.v3.oas.annotations.Operation;
@@ -41,7 +73,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -51,7 +89,19 @@ import lombok.RequiredArgsConstructor;
 @Tag(name = "Drivers", description = "Operacoes de cadastro, consulta e busca de motoristas.")
 public class DriverController {
 
+    /**
+     * Permite guardar a resposta, mas obriga a revalidar com If-None-Match a cada uso.
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final DriverService driverService;
+    private final DriverImportService driverImportService;
+    private final DriverExportService driverExportService;
+    private final DriverFacetService driverFacetService;
+    private final DriverChangeFeedService driverChangeFeedService;
+    private final DriverLocationService driverLocationService;
+    private final DriverStreamBroadcaster driverStreamBroadcaster;
 
     @PostMapping
     @Operation(
@@ -78,13 +128,336 @@ public class DriverController {
     })
     public ResponseEntity<DriverResponse> create(@Valid @RequestBody DriverCreateRequest request) {
         Driver driver = driverService.create(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(driver));
+        return ResponseEntity.status(HttpStatus.CREATED).body(DriverResponse.from(driver));
+    }
+
+    @PostMapping(
+            value = "/import",
+            consumes = {DriverImportService.NDJSON_MEDIA_TYPE, DriverImportService.CSV_MEDIA_TYPE}
+    )
+    @Operation(
+            summary = "Importar motoristas",
+            description = "Importa motoristas em massa a partir de NDJSON (um DriverCreateRequest por linha) "
+                    + "ou CSV (cabecalho name,email,phone,city,state,vehicleTypes; tipos separados por |).",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Relatorio da importacao com erros por linha",
+                    content = @Content(schema = @Schema(implementation = DriverImportResult.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Nao autorizado",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    public DriverImportResult importDrivers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+
+        DriverFileFormat format = MediaType.parseMediaType(DriverImportService.CSV_MEDIA_TYPE)
+                .isCompatibleWith(contentType)
+                ? DriverFileFormat.CSV
+                : DriverFileFormat.NDJSON;
+
+        return driverImportService.importDrivers(body, format);
+    }
+
+    @GetMapping("/export")
+    @Operation(
+            summary = "Exportar motoristas",
+            description = "Exporta em streaming (NDJSON ou CSV) todos os motoristas que atendem aos filtros.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Arquivo com os motoristas"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Parametros invalidos",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Nao autorizado",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    public void export(
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Texto para buscar em nome/email/telefone",
+                    example = "maria"
+            )
+            @RequestParam(required = false) String text,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Cidade do motorista",
+                    example = "Sao Paulo"
+            )
+            @RequestParam(required = false) String city,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "UF do motorista",
+                    example = "SP"
+            )
+            @RequestParam(required = false) String state,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Tipos de veiculo (1 ou mais)",
+                    example = "VAN"
+            )
+            @RequestParam(required = false) Set<VehicleType> vehicleTypes,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Campo de ordenacao permitido",
+                    example = "CREATED_AT"
+            )
+            @RequestParam(defaultValue = "CREATED_AT") DriverSortBy sortBy,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Direcao da ordenacao",
+                    example = "DESC"
+            )
+            @RequestParam(defaultValue = "DESC") Sort.Direction sortDir,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Formato do arquivo",
+                    example = "NDJSON"
+            )
+            @RequestParam(defaultValue = "NDJSON") DriverFileFormat format,
+            HttpServletResponse response) throws IOException {
+
+        DriverFilter filter = new DriverFilter(text, city, state, vehicleTypes);
+        boolean csv = format == DriverFileFormat.CSV;
+
+        response.setContentType(csv ? DriverImportService.CSV_MEDIA_TYPE : DriverImportService.NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=drivers." + (csv ? "csv" : "ndjson"));
+
+        driverExportService.export(
+                filter,
+                Sort.by(sortDir, sortBy.getProperty(), "id"),
+                format,
+                response.getOutputStream());
+    }
+
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Alteracoes de motoristas",
+            description = "Retorna os motoristas criados, alterados ou removidos depois do cursor, em ordem "
+                    + "de alteracao. Removidos vem com active=false. Use o nextCursor como since da "
+                    + "proxima chamada.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Alteracoes retornadas com sucesso",
+                    content = @Content(schema = @Schema(implementation = DriverChangeFeed.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Parametros ou cursor invalidos",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Nao autorizado",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    public DriverChangeFeed changes(
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Cursor retornado na chamada anterior; vazio para comecar do inicio"
+            )
+            @RequestParam(required = false) String since,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Quantidade maxima de alteracoes",
+                    example = "500"
+            )
+            @RequestParam(defaultValue = "500") @Min(1) @Max(1000) int size) {
+
+        return driverChangeFeedService.changes(since, size);
+    }
+
+    @GetMapping("/facets")
+    @Operation(
+            summary = "Contagens por faceta",
+            description = "Conta os motoristas que atendem aos filtros por UF, cidade e tipo de veiculo.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Contagens retornadas com sucesso",
+                    content = @Content(schema = @Schema(implementation = DriverFacets.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Parametros invalidos",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Nao autorizado",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    public DriverFacets facets(
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Texto para buscar em nome/email/telefone",
+                    example = "maria"
+            )
+            @RequestParam(required = false) String text,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Cidade do motorista",
+                    example = "Sao Paulo"
+            )
+            @RequestParam(required = false) String city,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "UF do motorista",
+                    example = "SP"
+            )
+            @RequestParam(required = false) String state,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Tipos de veiculo (1 ou mais)",
+                    example = "VAN"
+            )
+            @RequestParam(required = false) Set<VehicleType> vehicleTypes) {
+
+        return driverFacetService.facets(new DriverFilter(text, city, state, vehicleTypes));
+    }
+
+    @GetMapping("/nearby")
+    @Operation(
+            summary = "Motoristas mais proximos",
+            description = "Retorna os motoristas ativos mais proximos do ponto, dentro do raio, "
+                    + "do mais proximo para o mais distante.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Motoristas encontrados com a distancia em km"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Parametros invalidos",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Nao autorizado",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Indice de posicoes ainda em carga",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    public List<NearbyDriver> nearby(
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Latitude do ponto",
+                    example = "-23.5505"
+            )
+            @RequestParam @DecimalMin("-90.0") @DecimalMax("90.0") double lat,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Longitude do ponto",
+                    example = "-46.6333"
+            )
+            @RequestParam @DecimalMin("-180.0") @DecimalMax("180.0") double lon,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Raio da busca em km",
+                    example = "10"
+            )
+            @RequestParam(defaultValue = "10") @Positive @DecimalMax("200.0") double radiusKm,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Tipos de veiculo (1 ou mais)",
+                    example = "VAN"
+            )
+            @RequestParam(required = false) Set<VehicleType> vehicleTypes,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Quantidade maxima de motoristas",
+                    example = "10"
+            )
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+
+        return driverService.findNearby(lat, lon, radiusKm, vehicleTypes, limit);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Acompanhar alteracoes em tempo real",
+            description = "Server-Sent Events com os motoristas criados (created), alterados (updated) e "
+                    + "desativados (deleted) que atendem aos filtros, e left quando uma alteracao tira o motorista "
+                    + "do filtro. O id de cada evento e um cursor aceito "
+                    + "por GET /drivers/changes; um evento overflow indica eventos perdidos por lentidao do "
+                    + "cliente, que deve ressincronizar por GET /drivers/changes.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Conexao aberta"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Nao autorizado",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    public SseEmitter stream(
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Texto para buscar em nome/email/telefone",
+                    example = "maria"
+            )
+            @RequestParam(required = false) String text,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Cidade do motorista",
+                    example = "Sao Paulo"
+            )
+            @RequestParam(required = false) String city,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "UF do motorista",
+                    example = "SP"
+            )
+            @RequestParam(required = false) String state,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Tipos de veiculo (1 ou mais)",
+                    example = "VAN"
+            )
+            @RequestParam(required = false) Set<VehicleType> vehicleTypes) {
+
+        return driverStreamBroadcaster.subscribe(new DriverFilter(text, city, state, vehicleTypes));
     }
 
     @GetMapping("/{id}")
     @Operation(
             summary = "Detalhar motorista",
-            description = "Retorna os dados completos de um motorista.",
+            description = "Retorna os dados completos de um motorista com ETag forte (id + updatedAt + posicao). "
+                    + "Com If-None-Match igual a versao atual responde 304 sem corpo.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses({
@@ -93,6 +466,10 @@ public class DriverController {
                     description = "Motorista encontrado",
                     content = @Content(schema = @Schema(implementation = DriverResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Motorista nao alterado desde a ETag informada"
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Motorista nao encontrado",
@@ -104,15 +481,115 @@ public class DriverController {
                     content = @Content(schema = @Schema(implementation = ApiError.class))
             )
     })
-    public ResponseEntity<DriverResponse> findById(@PathVariable UUID id) {
-        Driver driver = driverService.findById(id);
-        return ResponseEntity.ok(toResponse(driver));
+    public ResponseEntity<DriverResponse> findById(
+            @PathVariable UUID id,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            WebRequest webRequest) {
+
+        if (ifNoneMatch != null && webRequest.checkNotModified(strongETag(driverService.findETagFields(id)))) {
+            return null;
+        }
+
+        DriverResponse driver = driverService.findById(id);
+
+        return ResponseEntity.ok()
+                .eTag(strongETag(driver))
+                .cacheControl(REVALIDATE)
+                .body(driver);
+    }
+
+    @PostMapping("/batch-get")
+    @Operation(
+            summary = "Detalhar varios motoristas",
+            description = "Retorna, na ordem pedida, os motoristas ativos dos ids informados (ate 500) "
+                    + "e a lista de ids inexistentes ou inativos.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Consulta realizada",
+                    content = @Content(schema = @Schema(implementation = DriverBatchGetResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados invalidos",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Nao autorizado",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    public ResponseEntity<DriverBatchGetResponse> findByIds(@Valid @RequestBody DriverBatchGetRequest request) {
+        return ResponseEntity.ok(driverService.findByIds(request.ids()));
+    }
+
+    @PostMapping("/{id}/location")
+    @Operation(
+            summary = "Informar posicao do motorista",
+            description = "Registra a posicao atual do motorista. A gravacao e feita em lote logo depois; "
+                    + "motoristas inexistentes ou inativos sao ignorados.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Posicao recebida"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados invalidos",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Nao autorizado",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    public ResponseEntity<Void> recordLocation(
+            @PathVariable UUID id,
+            @Valid @RequestBody DriverLocationRequest request) {
+
+        driverLocationService.record(id, request.latitude(), request.longitude());
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/locations")
+    @Operation(
+            summary = "Informar posicoes de varios motoristas",
+            description = "Registra ate 1000 posicoes de uma vez, com a mesma gravacao em lote da rota individual.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Posicoes recebidas"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados invalidos",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Nao autorizado",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    public ResponseEntity<Void> recordLocations(@Valid @RequestBody DriverLocationBatchRequest request) {
+        driverLocationService.recordAll(request.locations());
+        return ResponseEntity.accepted().build();
     }
 
     @PutMapping("/{id}")
     @Operation(
             summary = "Atualizar motorista",
-            description = "Atualiza todos os dados de um motorista.",
+            description = "Atualiza todos os dados de um motorista. Latitude e longitude sao a excecao: "
+                    + "quando omitidas, a posicao atual (ex.: enviada por /location) e mantida. Com version "
+                    + "no corpo, a escrita so acontece se o motorista ainda estiver nessa versao.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses({
@@ -131,6 +608,11 @@ public class DriverController {
                     description = "Motorista nao encontrado",
                     content = @Content(schema = @Schema(implementation = ApiError.class))
             ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Versao informada desatualizada",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Nao autorizado",
@@ -140,14 +622,54 @@ public class DriverController {
     public ResponseEntity<DriverResponse> update(
             @PathVariable UUID id,
             @Valid @RequestBody DriverUpdateRequest request) {
-        Driver driver = driverService.update(id, request);
-        return ResponseEntity.ok(toResponse(driver));
+        return ResponseEntity.ok(driverService.update(id, request));
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(
+            summary = "Atualizar motorista parcialmente",
+            description = "Atualiza apenas os campos informados. Com version no corpo, a escrita "
+                    + "so acontece se o motorista ainda estiver nessa versao.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Motorista atualizado",
+                    content = @Content(schema = @Schema(implementation = DriverResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Dados invalidos",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Motorista nao encontrado",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Versao informada desatualizada",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Nao autorizado",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    public ResponseEntity<DriverResponse> patch(
+            @PathVariable UUID id,
+            @Valid @RequestBody DriverPatchRequest request) {
+        return ResponseEntity.ok(driverService.patch(id, request));
     }
 
     @DeleteMapping("/{id}")
     @Operation(
             summary = "Excluir motorista",
-            description = "Remove (soft delete) um motorista.",
+            description = "Remove (soft delete) um motorista. Com version, so remove se o motorista "
+                    + "ainda estiver nessa versao.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses({
@@ -160,21 +682,36 @@ public class DriverController {
                     description = "Motorista nao encontrado",
                     content = @Content(schema = @Schema(implementation = ApiError.class))
             ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Versao informada desatualizada",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Nao autorizado",
                     content = @Content(schema = @Schema(implementation = ApiError.class))
             )
     })
-    public ResponseEntity<Void> delete(@PathVariable UUID id) {
-        driverService.delete(id);
+    public ResponseEntity<Void> delete(
+            @PathVariable UUID id,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Versao esperada do motorista",
+                    example = "3"
+            )
+            @RequestParam(required = false) @Min(0) Long version) {
+        driverService.delete(id, version);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping
     @Operation(
             summary = "Buscar motoristas",
-            description = "Busca paginada com filtros combinaveis e ordenacao.",
+            description = "Busca paginada com filtros combinaveis e ordenacao. Com totalMode=EXACT a "
+                    + "resposta traz ETag fraca derivada dos parametros e da quantidade e ultima alteracao "
+                    + "dos motoristas filtrados; com If-None-Match igual responde 304 sem executar a busca. "
+                    + "ESTIMATE e NONE dispensam a contagem e respondem sem ETag.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses({
@@ -183,6 +720,10 @@ public class DriverController {
                     description = "Lista paginada de motoristas",
                     content = @Content(schema = @Schema(implementation = DriverResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Resultado nao alterado desde a ETag informada"
+            ),
             @ApiResponse(
                     responseCode = "400",
                     description = "Parametros invalidos",
@@ -194,7 +735,7 @@ public class DriverController {
                     content = @Content(schema = @Schema(implementation = ApiError.class))
             )
     })
-    public Page<DriverResponse> search(
+    public ResponseEntity<?> search(
             @Parameter(
                     in = ParameterIn.QUERY,
                     description = "Texto para buscar em nome/email/telefone",
@@ -236,7 +777,7 @@ public class DriverController {
                     description = "Tamanho da pagina",
                     example = "10"
             )
-            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "5") @Min(1) int size,
             @Parameter(
                     in = ParameterIn.QUERY,
                     description = "Campo de ordenacao permitido",
@@ -248,7 +789,29 @@ public class DriverController {
                     description = "Direcao da ordenacao",
                     example = "DESC"
             )
-            @RequestParam(defaultValue = "DESC") Sort.Direction sortDir) {
+            @RequestParam(defaultValue = "DESC") Sort.Direction sortDir,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Calculo do total: EXACT (COUNT), ESTIMATE (estimativa do banco) "
+                            + "ou NONE (sem total, apenas indica se ha proxima pagina)",
+                    example = "EXACT"
+            )
+            @RequestParam(defaultValue = "EXACT") DriverTotalMode totalMode,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Campos de cada motorista no JSON, separados por virgula (o id sempre vem). "
+                            + "Sem o parametro, todos os campos",
+                    example = "name,city,state,vehicleTypes"
+            )
+            @RequestParam(required = false) Set<DriverField> fields,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Formato da pagina: PAGE (Spring Data) ou COMPACT "
+                            + "(content, page, size, total, hasNext)",
+                    example = "COMPACT"
+            )
+            @RequestParam(defaultValue = "PAGE") DriverEnvelope envelope,
+            WebRequest webRequest) {
 
         String resolvedText = text != null ? text : name;
 
@@ -264,27 +827,128 @@ public class DriverController {
                 state,
                 vehicleTypes);
 
-        return driverService.search(filter, pageable)
-                .map(DriverController::toResponse);
+        Set<DriverField> selectedFields = DriverField.select(fields);
+
+        // A ETag depende de count(*); so vale calcula-la quando a busca ja conta tudo.
+        if (totalMode != DriverTotalMode.EXACT) {
+            return ResponseEntity.ok()
+                    .body(body(driverService.search(filter, pageable, totalMode, selectedFields),
+                            selectedFields, envelope));
+        }
+
+        String query = String.join("|",
+                String.valueOf(resolvedText),
+                String.valueOf(city),
+                String.valueOf(state),
+                String.valueOf(VehicleTypes.toMask(vehicleTypes)),
+                String.valueOf(page),
+                String.valueOf(size),
+                sortBy.name(),
+                sortDir.name(),
+                String.valueOf(selectedFields),
+                envelope.name());
+        DriverVersion version = driverService.findVersion(filter);
+        String eTag = DriverETags.weak(query, version);
+
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        // O total ja saiu da agregacao da ETag; a pagina nao conta o filtro de novo.
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(REVALIDATE)
+                .body(body(driverService.search(filter, pageable, selectedFields, version.count()),
+                        selectedFields, envelope));
     }
 
-    private static DriverResponse toResponse(Driver driver) {
-        Set<VehicleType> vehicleTypes = driver.getVehicleTypes() == null
-                ? Set.of()
-                : Arrays.stream(driver.getVehicleTypes())
-                        .collect(Collectors.toSet());
-
-        return new DriverResponse(
-                driver.getId(),
-                driver.getName(),
-                driver.getEmail(),
-                driver.getPhone(),
-                driver.getCity(),
-                driver.getState(),
-                vehicleTypes,
-                driver.isActive(),
-                driver.getCreatedAt(),
-                driver.getUpdatedAt()
-        );
+    private static String strongETag(DriverResponse driver) {
+        return DriverETags.strong(driver.id(), driver.updatedAt(), driver.latitude(), driver.longitude());
+    }
+
+    private static Object body(Slice<DriverResponse> drivers, Set<DriverField> fields, DriverEnvelope envelope) {
+        Slice<?> content = fields == DriverField.ALL
+                ? drivers
+                : drivers.map(driver -> new DriverView(driver, fields));
+
+        return envelope == DriverEnvelope.COMPACT ? CompactPage.of(content) : content;
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(
+            summary = "Buscar motoristas por cursor",
+            description = "Busca com paginacao por keyset: envie cursor vazio na primeira pagina "
+                    + "e o nextCursor retornado nas seguintes.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Pagina de motoristas com cursor da proxima pagina",
+                    content = @Content(schema = @Schema(implementation = CursorPage.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Parametros ou cursor invalidos",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Nao autorizado",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))
+            )
+    })
+    public CursorPage<DriverResponse> scroll(
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Cursor opaco retornado em nextCursor (vazio na primeira pagina)"
+            )
+            @RequestParam String cursor,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Texto para buscar em nome/email/telefone",
+                    example = "maria"
+            )
+            @RequestParam(required = false) String text,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Cidade do motorista",
+                    example = "Sao Paulo"
+            )
+            @RequestParam(required = false) String city,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "UF do motorista",
+                    example = "SP"
+            )
+            @RequestParam(required = false) String state,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Tipos de veiculo (1 ou mais)",
+                    example = "VAN"
+            )
+            @RequestParam(required = false) Set<VehicleType> vehicleTypes,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Tamanho da pagina (1 a 100)",
+                    example = "10"
+            )
+            @RequestParam(defaultValue = "5") @Min(1) @Max(MAX_PAGE_SIZE) int size,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Campo de ordenacao permitido",
+                    example = "CREATED_AT"
+            )
+            @RequestParam(defaultValue = "CREATED_AT") DriverSortBy sortBy,
+            @Parameter(
+                    in = ParameterIn.QUERY,
+                    description = "Direcao da ordenacao",
+                    example = "DESC"
+            )
+            @RequestParam(defaultValue = "DESC") Sort.Direction sortDir) {
+
+        DriverFilter filter = new DriverFilter(text, city, state, vehicleTypes);
+
+        return driverService.scroll(filter, cursor, sortBy, sortDir, size);
     }
 }
@@ -0,0 +1,37 @@
+package com.fretemais.driver.service.driver.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.util.DigestUtils;
+
+import com.fretemais.driver.service.driver.dto.DriverVersion;
+
+/**
+ * ETags dos motoristas. A de detalhe e forte (id + updatedAt + posicao); a de busca e
+ * fraca, derivada dos parametros da pagina e da quantidade, ultima alteracao e marca das
+ * posicoes do conjunto filtrado. A posicao entra a parte porque os envios de posicao nao
+ * alteram updatedAt. O updatedAt entra em microssegundos, a precisao do timestamp no
+ * PostgreSQL, para que a resposta do cache e a lida do banco gerem a mesma ETag.
+ */
+final class DriverETags {
+
+    private DriverETags() {
+    }
+
+    static String strong(UUID id, LocalDateTime updatedAt, Double latitude, Double longitude) {
+        long position = latitude == null || longitude == null
+                ? 0
+                : DriverVersion.position(id, latitude, longitude);
+
+        return "\"" + id + "-" + Long.toHexString(DriverVersion.micros(updatedAt))
+                + "-" + Long.toHexString(position) + "\"";
+    }
+
+    static String weak(String query, DriverVersion version) {
+        String key = query + "|" + version.count() + "|" + DriverVersion.micros(version.lastUpdatedAt())
+                + "|" + version.positions();
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -1,6 +1,8 @@
 package com.fretemais.driver.service.driver.domain;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
 
 import org.hibernate.annotations.CreationTimestamp;
@@ -13,6 +15,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 import lombok.Data;
 import jakarta.validation.constraints.Size;
 
@@ -42,6 +45,24 @@ public class Driver {
     @Column(name = "vehicle_types", columnDefinition = "text[]")
     private VehicleType[] vehicleTypes;
 
+    /**
+     * Mesmos tipos de {@code vehicleTypes} como mascara de bits ({@link VehicleTypes}),
+     * usada nos filtros e na leitura. Mantida junto com o array por {@link #setVehicleTypes}.
+     */
+    @Column(name = "vehicle_types_mask", nullable = false)
+    private short vehicleTypesMask;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    /**
+     * Gravada so pelos envios de posicao e edicoes via {@code DriverWriteRepository};
+     * lida apenas na ETag da busca.
+     */
+    @Column(name = "location_updated_at", insertable = false, updatable = false)
+    private LocalDateTime locationUpdatedAt;
+
     @Column(nullable = false)
     private boolean isActive = true;
 
@@ -52,4 +73,17 @@ public class Driver {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    public Set<VehicleType> getVehicleTypes() {
+        return VehicleTypes.fromMask(vehicleTypesMask);
+    }
+
+    public void setVehicleTypes(Collection<VehicleType> vehicleTypes) {
+        this.vehicleTypesMask = VehicleTypes.toMask(vehicleTypes);
+        this.vehicleTypes = VehicleTypes.fromMask(vehicleTypesMask).toArray(VehicleType[]::new);
+    }
 }
@@ -0,0 +1,63 @@
+package com.fretemais.driver.service.driver.domain;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Conversao entre conjuntos de {@link VehicleType} e a mascara de bits gravada em
+ * {@code drivers.vehicle_types_mask}. O bit de cada tipo e a posicao da constante no
+ * enum, entao novos tipos devem ser adicionados sempre no final.
+ */
+public final class VehicleTypes {
+
+    private static final VehicleType[] VALUES = VehicleType.values();
+
+    /**
+     * Um conjunto imutavel por mascara possivel: a leitura nao aloca.
+     */
+    @SuppressWarnings("unchecked")
+    private static final Set<VehicleType>[] SETS = new Set[1 << VALUES.length];
+
+    static {
+        for (int mask = 0; mask < SETS.length; mask++) {
+            EnumSet<VehicleType> set = EnumSet.noneOf(VehicleType.class);
+            for (VehicleType type : VALUES) {
+                if ((mask & bit(type)) != 0) {
+                    set.add(type);
+                }
+            }
+            SETS[mask] = Collections.unmodifiableSet(set);
+        }
+    }
+
+    private VehicleTypes() {
+    }
+
+    public static int bit(VehicleType type) {
+        return 1 << type.ordinal();
+    }
+
+    public static short toMask(Collection<VehicleType> types) {
+        int mask = 0;
+
+        if (types != null) {
+            for (VehicleType type : types) {
+                if (type != null) {
+                    mask |= bit(type);
+                }
+            }
+        }
+
+        return (short) mask;
+    }
+
+    public static Set<VehicleType> fromMask(int mask) {
+        if (mask < 0 || mask >= SETS.length) {
+            throw new IllegalArgumentException("Mascara de tipos de veiculo invalida: " + mask);
+        }
+
+        return SETS[mask];
+    }
+}
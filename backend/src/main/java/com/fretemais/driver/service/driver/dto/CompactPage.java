@@ -0,0 +1,26 @@
+package com.fretemais.driver.service.driver.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Envelope enxuto de pagina, sem as estruturas {@code pageable}/{@code sort} do
+ * {@code PageImpl}. {@code total} fica de fora quando nao e calculado (totalMode=NONE).
+ */
+public record CompactPage<T>(
+        List<T> content,
+        int page,
+        int size,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long total,
+        boolean hasNext
+) {
+
+    public static <T> CompactPage<T> of(Slice<T> slice) {
+        Long total = slice instanceof Page<T> page ? page.getTotalElements() : null;
+        return new CompactPage<>(slice.getContent(), slice.getNumber(), slice.getSize(), total, slice.hasNext());
+    }
+}
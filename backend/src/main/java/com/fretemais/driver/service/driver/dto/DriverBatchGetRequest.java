@@ -0,0 +1,13 @@
+package com.fretemais.driver.service.driver.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record DriverBatchGetRequest(
+        @NotEmpty @Size(max = 500) List<@NotNull UUID> ids
+) {
+}
@@ -0,0 +1,13 @@
+package com.fretemais.driver.service.driver.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Motoristas encontrados na ordem dos ids pedidos e os ids inexistentes ou inativos.
+ */
+public record DriverBatchGetResponse(
+        List<DriverResponse> drivers,
+        List<UUID> missing
+) {
+}
@@ -0,0 +1,15 @@
+package com.fretemais.driver.service.driver.dto;
+
+import java.util.List;
+
+/**
+ * Motoristas criados, alterados ou removidos depois do cursor, em ordem de
+ * (updatedAt, id). Removidos vem com {@code active = false}. {@code nextCursor} e o
+ * {@code since} da proxima chamada; {@code hasMore} indica que ja ha mais alteracoes.
+ */
+public record DriverChangeFeed(
+        List<DriverResponse> changes,
+        String nextCursor,
+        boolean hasMore
+) {
+}
@@ -0,0 +1,83 @@
+package com.fretemais.driver.service.driver.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+
+import com.fretemais.driver.service.driver.exception.InvalidCursorException;
+
+/**
+ * Posicao de paginacao por keyset: valor da coluna de ordenacao da ultima
+ * linha retornada mais o id como desempate.
+ */
+public record DriverCursor(
+        DriverSortBy sortBy,
+        Sort.Direction direction,
+        UUID id,
+        String value
+) {
+
+    private static final String SEPARATOR = "|";
+
+    public static DriverCursor of(DriverResponse driver, DriverSortBy sortBy, Sort.Direction direction) {
+        Object value = switch (sortBy) {
+            case NAME -> driver.name();
+            case EMAIL -> driver.email();
+            case CREATED_AT -> driver.createdAt();
+            case UPDATED_AT -> driver.updatedAt();
+            case CITY -> driver.city();
+            case STATE -> driver.state();
+        };
+
+        return new DriverCursor(sortBy, direction, driver.id(), value == null ? null : value.toString());
+    }
+
+    /**
+     * Converte o valor serializado para o tipo da propriedade ordenada.
+     */
+    public Comparable<?> sortValue() {
+        if (value == null) {
+            return null;
+        }
+
+        return switch (sortBy) {
+            case CREATED_AT, UPDATED_AT -> LocalDateTime.parse(value);
+            default -> value;
+        };
+    }
+
+    public String encode() {
+        String raw = sortBy.name() + SEPARATOR + direction.name() + SEPARATOR + id
+                + (value == null ? "" : SEPARATOR + value);
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static DriverCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+
+            if (parts.length < 3) {
+                throw new InvalidCursorException("Cursor invalido");
+            }
+
+            DriverCursor decoded = new DriverCursor(
+                    DriverSortBy.valueOf(parts[0]),
+                    Sort.Direction.valueOf(parts[1]),
+                    UUID.fromString(parts[2]),
+                    parts.length == 4 ? parts[3] : null);
+
+            decoded.sortValue();
+            return decoded;
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidCursorException("Cursor invalido");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.fretemais.driver.service.driver.dto;
+
+/**
+ * Formato da pagina de busca: PAGE e o JSON do Spring Data; COMPACT usa {@link CompactPage}.
+ */
+public enum DriverEnvelope {
+    PAGE,
+    COMPACT
+}
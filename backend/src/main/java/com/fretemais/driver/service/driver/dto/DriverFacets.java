@@ -0,0 +1,15 @@
+package com.fretemais.driver.service.driver.dto;
+
+import java.util.List;
+
+/**
+ * Contagens do filtro atual por UF, cidade e tipo de veiculo, em ordem decrescente de
+ * quantidade. {@code total} e a quantidade de motoristas do filtro.
+ */
+public record DriverFacets(
+        long total,
+        List<FacetCount> states,
+        List<FacetCount> cities,
+        List<FacetCount> vehicleTypes
+) {
+}
@@ -0,0 +1,78 @@
+package com.fretemais.driver.service.driver.dto;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Campos de {@link DriverResponse} que podem ser pedidos em {@code fields=}, com o nome
+ * usado no JSON e o atributo da entidade lido na projecao.
+ */
+public enum DriverField {
+    ID("id", "id", DriverResponse::id),
+    NAME("name", "name", DriverResponse::name),
+    EMAIL("email", "email", DriverResponse::email),
+    PHONE("phone", "phone", DriverResponse::phone),
+    CITY("city", "city", DriverResponse::city),
+    STATE("state", "state", DriverResponse::state),
+    VEHICLE_TYPES("vehicleTypes", "vehicleTypesMask", DriverResponse::vehicleTypes),
+    ACTIVE("active", "isActive", DriverResponse::active),
+    CREATED_AT("createdAt", "createdAt", DriverResponse::createdAt),
+    UPDATED_AT("updatedAt", "updatedAt", DriverResponse::updatedAt),
+    VERSION("version", "version", DriverResponse::version),
+    LATITUDE("latitude", "latitude", DriverResponse::latitude),
+    LONGITUDE("longitude", "longitude", DriverResponse::longitude);
+
+    public static final Set<DriverField> ALL = Collections.unmodifiableSet(EnumSet.allOf(DriverField.class));
+
+    private final String jsonName;
+    private final String attribute;
+    private final Function<DriverResponse, Object> accessor;
+
+    DriverField(String jsonName, String attribute, Function<DriverResponse, Object> accessor) {
+        this.jsonName = jsonName;
+        this.attribute = attribute;
+        this.accessor = accessor;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Object value(DriverResponse driver) {
+        return accessor.apply(driver);
+    }
+
+    /**
+     * Aceita o nome do JSON ({@code vehicleTypes}) ou da constante ({@code VEHICLE_TYPES}).
+     */
+    public static DriverField fromName(String name) {
+        String trimmed = name.trim();
+        for (DriverField field : values()) {
+            if (field.jsonName.equalsIgnoreCase(trimmed) || field.name().equalsIgnoreCase(trimmed)) {
+                return field;
+            }
+        }
+
+        throw new IllegalArgumentException("Campo invalido: " + name);
+    }
+
+    /**
+     * Campos efetivos de uma requisicao: todos quando nada foi pedido; o id sempre entra.
+     */
+    public static Set<DriverField> select(Collection<DriverField> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return ALL;
+        }
+
+        EnumSet<DriverField> fields = EnumSet.copyOf(requested);
+        fields.add(ID);
+        return fields.size() == ALL.size() ? ALL : Collections.unmodifiableSet(fields);
+    }
+}
@@ -0,0 +1,6 @@
+package com.fretemais.driver.service.driver.dto;
+
+public enum DriverFileFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,10 @@
+package com.fretemais.driver.service.driver.dto;
+
+import java.util.Map;
+
+public record DriverImportError(
+        long line,
+        String message,
+        Map<String, String> fields
+) {
+}
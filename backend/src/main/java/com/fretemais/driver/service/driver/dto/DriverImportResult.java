@@ -0,0 +1,11 @@
+package com.fretemais.driver.service.driver.dto;
+
+import java.util.List;
+
+public record DriverImportResult(
+        long imported,
+        long failed,
+        List<DriverImportError> errors,
+        boolean errorsTruncated
+) {
+}
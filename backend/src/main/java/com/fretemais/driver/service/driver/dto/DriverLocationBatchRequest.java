@@ -0,0 +1,13 @@
+package com.fretemais.driver.service.driver.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record DriverLocationBatchRequest(
+        @NotEmpty @Size(max = 1000) List<@NotNull @Valid DriverLocationUpdate> locations
+) {
+}
@@ -0,0 +1,17 @@
+package com.fretemais.driver.service.driver.dto;
+
+import java.util.UUID;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Posicao de um motorista dentro de {@link DriverLocationBatchRequest}.
+ */
+public record DriverLocationUpdate(
+        @NotNull UUID driverId,
+        @NotNull @DecimalMin("-90.0") @DecimalMax("90.0") Double latitude,
+        @NotNull @DecimalMin("-180.0") @DecimalMax("180.0") Double longitude
+) {
+}
@@ -0,0 +1,40 @@
+package com.fretemais.driver.service.driver.dto;
+
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fretemais.driver.service.driver.domain.VehicleType;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Atualizacao parcial: campos nulos ou ausentes mantem o valor atual. Com
+ * {@code version} informada, a escrita so acontece se o motorista ainda estiver nessa versao.
+ */
+public record DriverPatchRequest(
+        @Pattern(regexp = ".*\\S.*", message = "nao deve estar em branco") String name,
+        @Email @Size(max = 255) String email,
+        @Size(max = 50) String phone,
+        @Pattern(regexp = ".*\\S.*", message = "nao deve estar em branco") String city,
+        @Size(min = 2, max = 2) String state,
+        @Size(min = 1) Set<VehicleType> vehicleTypes,
+        @DecimalMin("-90.0") @DecimalMax("90.0") Double latitude,
+        @DecimalMin("-180.0") @DecimalMax("180.0") Double longitude,
+        @PositiveOrZero Long version
+) {
+
+    /**
+     * Para mudar a posicao, latitude e longitude vem juntas; sem nenhuma, a posicao atual fica.
+     */
+    @JsonIgnore
+    @AssertTrue(message = "latitude e longitude devem ser informadas juntas")
+    public boolean isLocationComplete() {
+        return (latitude == null) == (longitude == null);
+    }
+}
@@ -4,7 +4,9 @@ import java.time.LocalDateTime;
 import java.util.Set;
 import java.util.UUID;
 
+import com.fretemais.driver.service.driver.domain.Driver;
 import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.domain.VehicleTypes;
 
 public record DriverResponse(
         UUID id,
@@ -16,6 +18,57 @@ public record DriverResponse(
         Set<VehicleType> vehicleTypes,
         boolean active,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        long version,
+        Double latitude,
+        Double longitude
 ) {
+
+    /**
+     * Construtor usado pela projecao JPQL, que entrega os tipos de veiculo como mascara.
+     */
+    public DriverResponse(
+            UUID id,
+            String name,
+            String email,
+            String phone,
+            String city,
+            String state,
+            short vehicleTypesMask,
+            boolean active,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            long version,
+            Double latitude,
+            Double longitude
+    ) {
+        this(id, name, email, phone, city, state, VehicleTypes.fromMask(vehicleTypesMask), active, createdAt, updatedAt,
+                version, latitude, longitude);
+    }
+
+    /**
+     * Mesmo motorista em outra posicao; demais campos, inclusive {@code updatedAt}, mantidos.
+     */
+    public DriverResponse withLocation(Double latitude, Double longitude) {
+        return new DriverResponse(id, name, email, phone, city, state, vehicleTypes, active, createdAt, updatedAt,
+                version, latitude, longitude);
+    }
+
+    public static DriverResponse from(Driver driver) {
+        return new DriverResponse(
+                driver.getId(),
+                driver.getName(),
+                driver.getEmail(),
+                driver.getPhone(),
+                driver.getCity(),
+                driver.getState(),
+                driver.getVehicleTypes(),
+                driver.isActive(),
+                driver.getCreatedAt(),
+                driver.getUpdatedAt(),
+                driver.getVersion(),
+                driver.getLatitude(),
+                driver.getLongitude()
+        );
+    }
 }
@@ -1,20 +1,26 @@
 package com.fretemais.driver.service.driver.dto;
 
 public enum DriverSortBy {
-    NAME("name"),
-    EMAIL("email"),
-    CREATED_AT("createdAt"),
-    UPDATED_AT("updatedAt"),
-    CITY("city"),
-    STATE("state");
+    NAME("name", false),
+    EMAIL("email", true),
+    CREATED_AT("createdAt", false),
+    UPDATED_AT("updatedAt", false),
+    CITY("city", false),
+    STATE("state", false);
 
     private final String property;
+    private final boolean nullable;
 
-    DriverSortBy(String property) {
+    DriverSortBy(String property, boolean nullable) {
         this.property = property;
+        this.nullable = nullable;
     }
 
     public String getProperty() {
         return property;
     }
+
+    public boolean isNullable() {
+        return nullable;
+    }
 }
@@ -0,0 +1,7 @@
+package com.fretemais.driver.service.driver.dto;
+
+public enum DriverTotalMode {
+    EXACT,
+    ESTIMATE,
+    NONE
+}
@@ -2,19 +2,41 @@ package com.fretemais.driver.service.driver.dto;
 
 import java.util.Set;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fretemais.driver.service.driver.domain.VehicleType;
 
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 
+/**
+ * Substitui todos os dados do motorista, exceto a posicao quando latitude e longitude
+ * sao omitidas. Com {@code version} informada, a escrita so acontece se o motorista
+ * ainda estiver nessa versao.
+ */
 public record DriverUpdateRequest(
         @NotBlank String name,
         @Email @Size(max = 255) String email,
         @Size(max = 50) String phone,
         @NotBlank String city,
         @NotBlank @Size(min = 2, max = 2) String state,
-        @NotEmpty Set<VehicleType> vehicleTypes
+        @NotEmpty Set<VehicleType> vehicleTypes,
+        @DecimalMin("-90.0") @DecimalMax("90.0") Double latitude,
+        @DecimalMin("-180.0") @DecimalMax("180.0") Double longitude,
+        @PositiveOrZero Long version
 ) {
+
+    /**
+     * Latitude e longitude sao informadas juntas ou omitidas juntas.
+     */
+    @JsonIgnore
+    @AssertTrue(message = "latitude e longitude devem ser informadas juntas")
+    public boolean isLocationComplete() {
+        return (latitude == null) == (longitude == null);
+    }
 }
@@ -0,0 +1,54 @@
+package com.fretemais.driver.service.driver.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Resumo de um conjunto de motoristas (quantidade, ultima alteracao e marca das posicoes),
+ * usado para derivar ETags sem montar as respostas. Os envios de posicao nao alteram
+ * {@code updated_at}, entao {@code positions} muda quando alguma posicao do conjunto muda:
+ * no banco e o maior {@code location_updated_at} em microssegundos; na busca em memoria,
+ * a soma de {@link #position} de cada motorista.
+ */
+public record DriverVersion(
+        long count,
+        LocalDateTime lastUpdatedAt,
+        long positions
+) {
+
+    /**
+     * Construtor usado pela consulta agregada do banco.
+     */
+    public DriverVersion(long count, LocalDateTime lastUpdatedAt, LocalDateTime lastLocationUpdatedAt) {
+        this(count, lastUpdatedAt, micros(lastLocationUpdatedAt));
+    }
+
+    /**
+     * Hash de um motorista em uma posicao. Somado sobre o conjunto, nao depende da ordem
+     * e muda tambem quando dois motoristas trocam de posicao.
+     */
+    public static long position(UUID id, double latitude, double longitude) {
+        long hash = id.getMostSignificantBits() * 31 + id.getLeastSignificantBits();
+        hash = hash * 31 + Double.doubleToLongBits(latitude);
+        hash = hash * 31 + Double.doubleToLongBits(longitude);
+
+        // Finalizador do MurmurHash3, para espalhar os bits antes da soma
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Microssegundos desde a epoca, a precisao do timestamp no PostgreSQL.
+     */
+    public static long micros(LocalDateTime value) {
+        if (value == null) {
+            return 0;
+        }
+
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+}
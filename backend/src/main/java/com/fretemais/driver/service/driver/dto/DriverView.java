@@ -0,0 +1,37 @@
+package com.fretemais.driver.service.driver.dto;
+
+import java.io.IOException;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Motorista serializado apenas com os campos pedidos, na ordem de {@link DriverField}.
+ */
+@JsonSerialize(using = DriverView.Serializer.class)
+public record DriverView(
+        DriverResponse driver,
+        Set<DriverField> fields
+) {
+
+    static class Serializer extends StdSerializer<DriverView> {
+
+        Serializer() {
+            super(DriverView.class);
+        }
+
+        @Override
+        public void serialize(DriverView view, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+
+            generator.writeStartObject();
+            for (DriverField field : view.fields()) {
+                provider.defaultSerializeField(field.getJsonName(), field.value(view.driver()), generator);
+            }
+            generator.writeEndObject();
+        }
+    }
+}
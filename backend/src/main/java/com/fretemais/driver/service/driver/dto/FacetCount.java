@@ -0,0 +1,7 @@
+package com.fretemais.driver.service.driver.dto;
+
+public record FacetCount(
+        String value,
+        long count
+) {
+}
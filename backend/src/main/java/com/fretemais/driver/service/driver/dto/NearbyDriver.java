@@ -0,0 +1,10 @@
+package com.fretemais.driver.service.driver.dto;
+
+/**
+ * Motorista retornado pela busca por proximidade, com a distancia em km ate o ponto.
+ */
+public record NearbyDriver(
+        DriverResponse driver,
+        double distanceKm
+) {
+}
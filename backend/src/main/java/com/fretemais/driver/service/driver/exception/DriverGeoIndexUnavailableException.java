@@ -0,0 +1,12 @@
+package com.fretemais.driver.service.driver.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class DriverGeoIndexUnavailableException extends RuntimeException {
+
+    public DriverGeoIndexUnavailableException() {
+        super("Busca por proximidade indisponivel: indice ainda em carga");
+    }
+}
@@ -0,0 +1,14 @@
+package com.fretemais.driver.service.driver.exception;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DriverVersionConflictException extends RuntimeException {
+
+    public DriverVersionConflictException(UUID id, long version) {
+        super("Motorista " + id + " foi alterado por outra operacao (versao informada: " + version + ")");
+    }
+}
@@ -0,0 +1,24 @@
+package com.fretemais.driver.service.driver.repository;
+
+import java.util.Set;
+
+import com.fretemais.driver.service.driver.domain.VehicleType;
+
+/**
+ * Valores de uma atualizacao de motorista. Com {@code partial}, campos nulos mantem o
+ * valor atual; sem ele, todos os campos sao gravados, inclusive os nulos. A posicao e a
+ * excecao: sem latitude e longitude ela e sempre mantida, ja que normalmente chega pelos
+ * envios de posicao e nao pelo cadastro.
+ */
+public record DriverChanges(
+        String name,
+        String email,
+        String phone,
+        String city,
+        String state,
+        Set<VehicleType> vehicleTypes,
+        Double latitude,
+        Double longitude,
+        boolean partial
+) {
+}
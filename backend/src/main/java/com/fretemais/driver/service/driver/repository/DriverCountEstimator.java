@@ -0,0 +1,39 @@
+package com.fretemais.driver.service.driver.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Estima o total de motoristas de um filtro pela estimativa de linhas do
+ * planner do PostgreSQL, sem executar o COUNT.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DriverCountEstimator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public long estimate(DriverFilter filter) {
+        StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM drivers");
+        List<Object> params = new ArrayList<>();
+        DriverFilterSql.appendWhere(filter, sql, params);
+
+        String plan = jdbcTemplate.queryForObject(sql.toString(), String.class, params.toArray());
+
+        try {
+            return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Plano de execucao invalido", ex);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.fretemais.driver.service.driver.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.domain.VehicleTypes;
+import com.fretemais.driver.service.driver.dto.DriverFacets;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.dto.FacetCount;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Conta os motoristas de um filtro por UF, cidade e tipo de veiculo em uma unica
+ * varredura: GROUPING SETS gera uma linha por UF, uma por cidade e a linha de total,
+ * e os tipos de veiculo saem de agregados com FILTER sobre a mascara, sem unnest.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DriverFacetRepository {
+
+    private static final String SELECT = buildSelect();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Chave de cache de {@link #count}: filtros com a mesma chave geram a mesma consulta.
+     */
+    public static String cacheKey(DriverFilter filter) {
+        return DriverFilterSql.key(filter);
+    }
+
+    public DriverFacets count(DriverFilter filter) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> params = new ArrayList<>();
+        DriverFilterSql.appendWhere(filter, sql, params);
+        sql.append(" GROUP BY GROUPING SETS ((state), (lower(city)), ())");
+
+        List<FacetCount> states = new ArrayList<>();
+        List<FacetCount> cities = new ArrayList<>();
+        List<FacetCount> vehicleTypes = new ArrayList<>();
+        long[] total = new long[1];
+
+        jdbcTemplate.query(sql.toString(), rs -> {
+            boolean byState = rs.getInt("by_state") == 0;
+            boolean byCity = rs.getInt("by_city") == 0;
+            long count = rs.getLong("total");
+
+            if (byState) {
+                states.add(new FacetCount(rs.getString("state"), count));
+            } else if (byCity) {
+                cities.add(new FacetCount(rs.getString("city"), count));
+            } else {
+                total[0] = count;
+                for (VehicleType type : VehicleType.values()) {
+                    long typeCount = rs.getLong(column(type));
+                    if (typeCount > 0) {
+                        vehicleTypes.add(new FacetCount(type.name(), typeCount));
+                    }
+                }
+            }
+        }, params.toArray());
+
+        Comparator<FacetCount> byCount = Comparator.comparingLong(FacetCount::count).reversed()
+                .thenComparing(FacetCount::value);
+        states.sort(byCount);
+        cities.sort(byCount);
+        vehicleTypes.sort(byCount);
+
+        return new DriverFacets(total[0], states, cities, vehicleTypes);
+    }
+
+    private static String buildSelect() {
+        StringBuilder sql = new StringBuilder("SELECT GROUPING(state) AS by_state, GROUPING(lower(city)) AS by_city,"
+                + " state, min(city) AS city, count(*) AS total");
+
+        for (VehicleType type : VehicleType.values()) {
+            sql.append(", count(*) FILTER (WHERE (vehicle_types_mask & ")
+                    .append(VehicleTypes.bit(type))
+                    .append(") <> 0) AS ")
+                    .append(column(type));
+        }
+
+        return sql.append(" FROM drivers").toString();
+    }
+
+    private static String column(VehicleType type) {
+        return "vt_" + type.name().toLowerCase();
+    }
+}
@@ -0,0 +1,56 @@
+package com.fretemais.driver.service.driver.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fretemais.driver.service.driver.domain.VehicleTypes;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+
+/**
+ * Predicado SQL de {@link DriverFilter} para as consultas JDBC, espelhando o montado
+ * por {@code DriverSpecification} para que os mesmos indices parciais sejam usados.
+ */
+final class DriverFilterSql {
+
+    private DriverFilterSql() {
+    }
+
+    /**
+     * Acrescenta {@code WHERE is_active AND ...} e os parametros correspondentes.
+     */
+    static void appendWhere(DriverFilter filter, StringBuilder sql, List<Object> params) {
+        sql.append(" WHERE is_active");
+
+        if (filter.text() != null && !filter.text().isBlank()) {
+            sql.append(" AND driver_search_document(name, email, phone) LIKE ?");
+            params.add("%" + filter.text().toLowerCase() + "%");
+        }
+
+        if (filter.city() != null && !filter.city().isBlank()) {
+            sql.append(" AND lower(city) = ?");
+            params.add(filter.city().toLowerCase());
+        }
+
+        if (filter.state() != null && !filter.state().isBlank()) {
+            sql.append(" AND state = ?");
+            params.add(filter.state().toUpperCase());
+        }
+
+        short vehicleTypesMask = VehicleTypes.toMask(filter.vehicleTypes());
+        if (vehicleTypesMask != 0) {
+            sql.append(" AND (vehicle_types_mask & ?) <> 0");
+            params.add(vehicleTypesMask);
+        }
+    }
+
+    /**
+     * Chave de cache do filtro: o predicado e os parametros exatamente como vao ao banco,
+     * para que dois filtros so compartilhem resultado quando geram a mesma consulta.
+     */
+    static String key(DriverFilter filter) {
+        StringBuilder sql = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        appendWhere(filter, sql, params);
+        return sql + " " + params;
+    }
+}
@@ -0,0 +1,13 @@
+package com.fretemais.driver.service.driver.repository;
+
+import java.util.UUID;
+
+/**
+ * Ultima posicao informada por um motorista, ainda nao gravada.
+ */
+public record DriverLocation(
+        UUID id,
+        double latitude,
+        double longitude
+) {
+}
@@ -0,0 +1,17 @@
+package com.fretemais.driver.service.driver.repository;
+
+import java.util.UUID;
+
+/**
+ * Posicao gravada de um motorista ativo, com a mascara de tipos de veiculo usada pelo
+ * indice geografico e a versao da linha no momento da gravacao, que impede que a
+ * posicao sobrescreva uma edicao ou remocao posterior ja aplicada em memoria.
+ */
+public record DriverPosition(
+        UUID id,
+        double latitude,
+        double longitude,
+        short vehicleTypesMask,
+        long version
+) {
+}
@@ -0,0 +1,41 @@
+package com.fretemais.driver.service.driver.repository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.fretemais.driver.service.driver.domain.Driver;
+import com.fretemais.driver.service.driver.dto.DriverField;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.dto.DriverVersion;
+
+public interface DriverProjectionRepository {
+
+    /**
+     * Le motoristas ja projetados em {@link DriverResponse}, sem carregar entidades
+     * no contexto de persistencia.
+     */
+    List<DriverResponse> findResponses(Specification<Driver> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Como {@link #findResponses(Specification, Sort, long, int)}, mas le apenas as colunas
+     * dos campos pedidos; os demais ficam nulos (ou zero/false) na resposta.
+     */
+    List<DriverResponse> findResponses(
+            Specification<Driver> spec, Sort sort, long offset, int limit, Set<DriverField> fields);
+
+    /**
+     * Percorre o resultado com um cursor do banco lendo {@code fetchSize} linhas por vez.
+     * Deve ser consumido dentro de uma transacao e fechado ao final.
+     */
+    Stream<DriverResponse> streamResponses(Specification<Driver> spec, Sort sort, int fetchSize);
+
+    /**
+     * Conta os motoristas do filtro e retorna os maiores {@code updated_at} e
+     * {@code location_updated_at} em uma unica consulta agregada.
+     */
+    DriverVersion findVersion(Specification<Driver> spec);
+}
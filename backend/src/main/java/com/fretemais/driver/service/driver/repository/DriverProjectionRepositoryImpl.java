@@ -0,0 +1,160 @@
+package com.fretemais.driver.service.driver.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.fretemais.driver.service.driver.domain.Driver;
+import com.fretemais.driver.service.driver.dto.DriverField;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.dto.DriverVersion;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+class DriverProjectionRepositoryImpl implements DriverProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<DriverResponse> findResponses(Specification<Driver> spec, Sort sort, long offset, int limit) {
+        return createQuery(spec, sort)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<DriverResponse> findResponses(
+            Specification<Driver> spec, Sort sort, long offset, int limit, Set<DriverField> fields) {
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Driver> root = query.from(Driver.class);
+
+        List<Selection<?>> selections = fields.stream()
+                .<Selection<?>>map(field -> root.get(field.getAttribute()).alias(field.getJsonName()))
+                .toList();
+        query.multiselect(selections);
+        applyCriteria(query, root, spec, sort, criteriaBuilder);
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(tuple -> toResponse(tuple, fields))
+                .toList();
+    }
+
+    @Override
+    public Stream<DriverResponse> streamResponses(Specification<Driver> spec, Sort sort, int fetchSize) {
+        return createQuery(spec, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public DriverVersion findVersion(Specification<Driver> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DriverVersion> query = criteriaBuilder.createQuery(DriverVersion.class);
+        Root<Driver> root = query.from(Driver.class);
+
+        query.select(criteriaBuilder.construct(
+                DriverVersion.class,
+                criteriaBuilder.count(root),
+                criteriaBuilder.greatest(root.<LocalDateTime>get("updatedAt")),
+                criteriaBuilder.greatest(root.<LocalDateTime>get("locationUpdatedAt"))));
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getSingleResult();
+    }
+
+    private TypedQuery<DriverResponse> createQuery(Specification<Driver> spec, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DriverResponse> query = criteriaBuilder.createQuery(DriverResponse.class);
+        Root<Driver> root = query.from(Driver.class);
+
+        query.select(criteriaBuilder.construct(
+                DriverResponse.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("email"),
+                root.get("phone"),
+                root.get("city"),
+                root.get("state"),
+                root.get("vehicleTypesMask"),
+                root.get("isActive"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                root.get("version"),
+                root.get("latitude"),
+                root.get("longitude")));
+
+        applyCriteria(query, root, spec, sort, criteriaBuilder);
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    private static void applyCriteria(
+            CriteriaQuery<?> query,
+            Root<Driver> root,
+            Specification<Driver> spec,
+            Sort sort,
+            CriteriaBuilder criteriaBuilder) {
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+    }
+
+    private static DriverResponse toResponse(Tuple tuple, Set<DriverField> fields) {
+        return new DriverResponse(
+                tuple.get(DriverField.ID.getJsonName(), UUID.class),
+                value(tuple, fields, DriverField.NAME, String.class),
+                value(tuple, fields, DriverField.EMAIL, String.class),
+                value(tuple, fields, DriverField.PHONE, String.class),
+                value(tuple, fields, DriverField.CITY, String.class),
+                value(tuple, fields, DriverField.STATE, String.class),
+                fields.contains(DriverField.VEHICLE_TYPES)
+                        ? tuple.get(DriverField.VEHICLE_TYPES.getJsonName(), Short.class)
+                        : (short) 0,
+                fields.contains(DriverField.ACTIVE) && tuple.get(DriverField.ACTIVE.getJsonName(), Boolean.class),
+                value(tuple, fields, DriverField.CREATED_AT, LocalDateTime.class),
+                value(tuple, fields, DriverField.UPDATED_AT, LocalDateTime.class),
+                fields.contains(DriverField.VERSION) ? tuple.get(DriverField.VERSION.getJsonName(), Long.class) : 0L,
+                value(tuple, fields, DriverField.LATITUDE, Double.class),
+                value(tuple, fields, DriverField.LONGITUDE, Double.class));
+    }
+
+    private static <T> T value(Tuple tuple, Set<DriverField> fields, DriverField field, Class<T> type) {
+        return fields.contains(field) ? tuple.get(field.getJsonName(), type) : null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.fretemais.driver.service.driver.repository;
+
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+
+/**
+ * Linha de um motorista antes e depois de um UPDATE.
+ */
+public record DriverRevision(
+        DriverResponse previous,
+        DriverResponse current
+) {
+}
@@ -0,0 +1,195 @@
+package com.fretemais.driver.service.driver.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.domain.VehicleTypes;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Escritas de motoristas em um unico comando: o UPDATE ja filtra por motorista ativo
+ * (e pela versao, quando informada) e devolve a linha gravada com RETURNING, sem
+ * SELECT previo nem merge de entidade.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DriverWriteRepository {
+
+    private static final String COLUMNS = "id, name, email, phone, city, state, vehicle_types_mask,"
+            + " is_active, created_at, updated_at, version, latitude, longitude";
+    private static final String RETURNING = " RETURNING " + COLUMNS;
+    private static final String RETURNING_QUALIFIED = " RETURNING d." + COLUMNS.replace(", ", ", d.");
+    private static final String PREVIOUS_COLUMNS = Arrays.stream(COLUMNS.split(", "))
+            .map(column -> "p." + column + " AS previous_" + column)
+            .collect(Collectors.joining(", "));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Aplica as alteracoes e incrementa a versao. Vazio quando nenhuma linha foi
+     * afetada: motorista inexistente, inativo ou em outra versao. A linha anterior vem
+     * do mesmo comando (CTE com FOR UPDATE), sem ida extra ao banco.
+     */
+    public Optional<DriverRevision> update(UUID id, DriverChanges changes, Long expectedVersion) {
+        StringBuilder sql = new StringBuilder("WITH p AS (SELECT " + COLUMNS
+                + " FROM drivers WHERE id = ? FOR UPDATE) UPDATE drivers AS d SET");
+        List<Object> params = new ArrayList<>();
+        params.add(id);
+
+        assign(sql, params, "name", changes.name(), changes.partial());
+        assign(sql, params, "email", changes.email(), changes.partial());
+        assign(sql, params, "phone", changes.phone(), changes.partial());
+        assign(sql, params, "city", changes.city(), changes.partial());
+        assign(sql, params, "state", changes.state(), changes.partial());
+
+        if (!changes.partial() || changes.vehicleTypes() != null) {
+            short mask = VehicleTypes.toMask(changes.vehicleTypes());
+            sql.append(" vehicle_types = CAST(? AS text[]), vehicle_types_mask = ?,");
+            params.add(VehicleTypes.fromMask(mask).stream()
+                    .map(VehicleType::name)
+                    .toArray(String[]::new));
+            params.add(mask);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        if (changes.latitude() != null && changes.longitude() != null) {
+            sql.append(" latitude = ?, longitude = ?, location_updated_at = ?,");
+            params.add(changes.latitude());
+            params.add(changes.longitude());
+            params.add(now);
+        }
+
+        sql.append(" updated_at = ?, version = d.version + 1 FROM p WHERE d.id = p.id AND d.is_active");
+        params.add(now);
+
+        if (expectedVersion != null) {
+            sql.append(" AND d.version = ?");
+            params.add(expectedVersion);
+        }
+
+        sql.append(RETURNING_QUALIFIED).append(", ").append(PREVIOUS_COLUMNS);
+
+        return jdbcTemplate.query(sql.toString(),
+                        (rs, rowNum) -> new DriverRevision(mapRow(rs, "previous_"), mapRow(rs, "")),
+                        params.toArray())
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Grava as posicoes em um unico UPDATE ... FROM (VALUES ...). Nao altera versao nem
+     * {@code updated_at}: a posicao muda com frequencia e nao deve conflitar com edicoes
+     * do cadastro nem aparecer no feed de alteracoes; as ETags levam a posicao em conta
+     * por conta propria ({@code location_updated_at}). So colunas sem
+     * indice mudam, o que permite UPDATE HOT. Retorna as posicoes gravadas; motoristas
+     * inexistentes ou inativos sao ignorados.
+     */
+    public List<DriverPosition> updateLocations(List<DriverLocation> locations) {
+        if (locations.isEmpty()) {
+            return List.of();
+        }
+
+        StringBuilder sql = new StringBuilder("UPDATE drivers AS d SET latitude = v.latitude,"
+                + " longitude = v.longitude, location_updated_at = ? FROM (VALUES ");
+        List<Object> params = new ArrayList<>(1 + locations.size() * 3);
+        params.add(LocalDateTime.now());
+
+        for (int i = 0; i < locations.size(); i++) {
+            DriverLocation location = locations.get(i);
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(CAST(? AS uuid), CAST(? AS double precision), CAST(? AS double precision))");
+            params.add(location.id());
+            params.add(location.latitude());
+            params.add(location.longitude());
+        }
+
+        sql.append(") AS v (id, latitude, longitude) WHERE d.id = v.id AND d.is_active")
+                .append(" RETURNING d.id, d.latitude, d.longitude, d.vehicle_types_mask, d.version");
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new DriverPosition(
+                rs.getObject("id", UUID.class),
+                rs.getDouble("latitude"),
+                rs.getDouble("longitude"),
+                rs.getShort("vehicle_types_mask"),
+                rs.getLong("version")), params.toArray());
+    }
+
+    /**
+     * Soft delete. Retorna a linha desativada, ou vazio quando nenhuma linha foi afetada.
+     */
+    public Optional<DriverResponse> deactivate(UUID id, Long expectedVersion) {
+        StringBuilder sql = new StringBuilder(
+                "UPDATE drivers SET is_active = false, updated_at = ?, version = version + 1");
+        List<Object> params = new ArrayList<>();
+        params.add(LocalDateTime.now());
+
+        appendGuard(sql, params, id, expectedVersion);
+        sql.append(RETURNING);
+
+        return jdbcTemplate.query(sql.toString(), DriverWriteRepository::mapRow, params.toArray()).stream()
+                .findFirst();
+    }
+
+    /**
+     * Usado apenas quando uma escrita com versao nao afeta linhas, para separar
+     * conflito de versao de motorista inexistente.
+     */
+    public boolean existsActive(UUID id) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM drivers WHERE id = ? AND is_active)", Boolean.class, id));
+    }
+
+    private static void assign(StringBuilder sql, List<Object> params, String column, Object value, boolean partial) {
+        if (partial && value == null) {
+            return;
+        }
+
+        sql.append(' ').append(column).append(" = ?,");
+        params.add(value);
+    }
+
+    private static void appendGuard(StringBuilder sql, List<Object> params, UUID id, Long expectedVersion) {
+        sql.append(" WHERE id = ? AND is_active");
+        params.add(id);
+
+        if (expectedVersion != null) {
+            sql.append(" AND version = ?");
+            params.add(expectedVersion);
+        }
+    }
+
+    private static DriverResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return mapRow(rs, "");
+    }
+
+    private static DriverResponse mapRow(ResultSet rs, String prefix) throws SQLException {
+        return new DriverResponse(
+                rs.getObject(prefix + "id", UUID.class),
+                rs.getString(prefix + "name"),
+                rs.getString(prefix + "email"),
+                rs.getString(prefix + "phone"),
+                rs.getString(prefix + "city"),
+                rs.getString(prefix + "state"),
+                rs.getShort(prefix + "vehicle_types_mask"),
+                rs.getBoolean(prefix + "is_active"),
+                rs.getObject(prefix + "created_at", LocalDateTime.class),
+                rs.getObject(prefix + "updated_at", LocalDateTime.class),
+                rs.getLong(prefix + "version"),
+                rs.getObject(prefix + "latitude", Double.class),
+                rs.getObject(prefix + "longitude", Double.class));
+    }
+}
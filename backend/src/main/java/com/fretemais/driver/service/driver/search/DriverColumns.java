@@ -0,0 +1,575 @@
+package com.fretemais.driver.service.driver.search;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import com.fretemais.driver.service.driver.domain.VehicleTypes;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.dto.DriverSortBy;
+import com.fretemais.driver.service.driver.dto.DriverVersion;
+
+/**
+ * Motoristas ativos em arrays por coluna. Cada motorista ocupa um slot; cidade e
+ * estado sao codificados por dicionario, os tipos de veiculo ficam na mascara de bits
+ * e o texto de busca ja vem em minusculas. Para cada ordenacao suportada ha uma
+ * permutacao dos slots ordenada por (coluna, id), mantida a cada escrita.
+ * So as ordenacoes por data sao suportadas: a ordem de texto depende da collation do
+ * banco, que a comparacao em Java nao reproduz, entao essas buscas ficam no banco.
+ * Como cadastros recebem a data mais recente, novos slots entram no fim das
+ * permutacoes; uma edicao so reposiciona as permutacoes cuja chave mudou.
+ * As escritas chegam na ordem em que pegam o bloqueio, nao na do commit: uma gravacao
+ * com versao menor que a guardada e descartada, e as ultimas {@value #MAX_TOMBSTONES}
+ * remocoes sao lembradas para que uma edicao atrasada nao traga o motorista de volta.
+ * Nao e thread-safe: o acesso e coordenado por {@link DriverSearchEngine}.
+ */
+final class DriverColumns {
+
+    private static final DriverSortBy[] SORTS = {DriverSortBy.CREATED_AT, DriverSortBy.UPDATED_AT};
+    private static final int NO_MATCH = -2;
+    private static final int ANY = -1;
+    private static final int MAX_TOMBSTONES = 10_000;
+
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private final Map<UUID, Long> tombstones = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+            return size() > MAX_TOMBSTONES;
+        }
+    };
+    private final Dictionary cities = new Dictionary();
+    private final Dictionary states = new Dictionary();
+
+    private int capacity;
+    private int used;
+    private int[] free = new int[0];
+    private int freeCount;
+
+    private long[] idHigh;
+    private long[] idLow;
+    private UUID[] ids;
+    private String[] names;
+    private String[] emails;
+    private String[] phones;
+    private String[] cityNames;
+    private String[] stateNames;
+    private String[] documents;
+    private int[] cityCodes;
+    private int[] stateCodes;
+    private short[] vehicleMasks;
+    private LocalDateTime[] createdAts;
+    private LocalDateTime[] updatedAts;
+    private long[] createdAtKeys;
+    private long[] updatedAtKeys;
+    private long[] versions;
+    private double[] latitudes;
+    private double[] longitudes;
+
+    private final int[][] orders = new int[DriverSortBy.values().length][];
+    private int size;
+
+    DriverColumns(int capacity) {
+        allocate(Math.max(capacity, 16));
+    }
+
+    static DriverColumns of(Collection<DriverResponse> drivers) {
+        DriverColumns columns = new DriverColumns(drivers.size());
+
+        for (DriverResponse driver : drivers) {
+            if (driver.active() && !columns.slots.containsKey(driver.id())) {
+                int slot = columns.nextSlot();
+                columns.write(slot, driver);
+                columns.slots.put(driver.id(), slot);
+                columns.size++;
+            }
+        }
+
+        for (DriverSortBy sortBy : SORTS) {
+            columns.orders[sortBy.ordinal()] = columns.sortedSlots(sortBy);
+        }
+
+        return columns;
+    }
+
+    int size() {
+        return size;
+    }
+
+    static boolean supports(DriverSortBy sortBy) {
+        return sortBy == DriverSortBy.CREATED_AT || sortBy == DriverSortBy.UPDATED_AT;
+    }
+
+    void upsert(DriverResponse driver) {
+        if (!driver.active()) {
+            remove(driver.id(), driver.version());
+            return;
+        }
+
+        Integer existing = slots.get(driver.id());
+
+        if (existing == null) {
+            if (removed(driver)) {
+                return;
+            }
+
+            int slot = nextSlot();
+            slots.put(driver.id(), slot);
+            write(slot, driver);
+            link(slot);
+            return;
+        }
+
+        int slot = existing;
+        if (driver.version() < versions[slot]) {
+            return;
+        }
+
+        boolean createdAtChanged = createdAtKeys[slot] != key(driver.createdAt());
+        boolean updatedAtChanged = updatedAtKeys[slot] != key(driver.updatedAt());
+
+        if (createdAtChanged) {
+            unlink(DriverSortBy.CREATED_AT, slot, size);
+        }
+        if (updatedAtChanged) {
+            unlink(DriverSortBy.UPDATED_AT, slot, size);
+        }
+
+        write(slot, driver);
+
+        if (createdAtChanged) {
+            link(DriverSortBy.CREATED_AT, slot, size - 1);
+        }
+        if (updatedAtChanged) {
+            link(DriverSortBy.UPDATED_AT, slot, size - 1);
+        }
+    }
+
+    /**
+     * Grava varios motoristas de uma vez. Os novos sao ordenados entre si e intercalados
+     * em cada permutacao em uma unica passada, de tras para frente, em vez de um
+     * deslocamento do array por motorista. Os ja existentes seguem o caminho de
+     * {@link #upsert(DriverResponse)}.
+     */
+    void upsertAll(Collection<DriverResponse> drivers) {
+        int[] added = new int[drivers.size()];
+        int count = 0;
+
+        for (DriverResponse driver : drivers) {
+            if (!driver.active() || slots.containsKey(driver.id()) || removed(driver)) {
+                upsert(driver);
+                continue;
+            }
+
+            int slot = nextSlot();
+            slots.put(driver.id(), slot);
+            write(slot, driver);
+            added[count++] = slot;
+        }
+
+        if (count == 0) {
+            return;
+        }
+
+        Integer[] boxed = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            boxed[i] = added[i];
+        }
+
+        for (DriverSortBy sortBy : SORTS) {
+            Arrays.sort(boxed, (left, right) -> compare(sortBy, left, right));
+            merge(orders[sortBy.ordinal()], sortBy, boxed);
+        }
+        size += count;
+    }
+
+    /**
+     * Atualiza so a posicao. Latitude e longitude nao entram em nenhuma ordenacao, entao
+     * o custo e constante, sem mexer nas permutacoes. Ignorada se o motorista ja foi
+     * gravado em versao maior que a da posicao.
+     */
+    void moveTo(UUID id, double latitude, double longitude, long version) {
+        Integer slot = slots.get(id);
+
+        if (slot != null && version >= versions[slot]) {
+            latitudes[slot] = latitude;
+            longitudes[slot] = longitude;
+        }
+    }
+
+    /**
+     * Remocao na versao informada (a da desativacao).
+     */
+    void remove(UUID id, long version) {
+        tombstones.merge(id, version, Math::max);
+
+        Integer slot = slots.get(id);
+        if (slot != null && version >= versions[slot]) {
+            remove(id);
+        }
+    }
+
+    void remove(UUID id) {
+        Integer slot = slots.remove(id);
+
+        if (slot == null) {
+            return;
+        }
+
+        for (DriverSortBy sortBy : SORTS) {
+            unlink(sortBy, slot, size);
+        }
+        size--;
+        clear(slot);
+
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, Math.max(16, free.length * 2));
+        }
+        free[freeCount++] = slot;
+    }
+
+    /**
+     * Percorre a permutacao da ordenacao pedida, que deve ser {@link #supports suportada},
+     * aplicando os filtros. Com
+     * {@code countAll} a varredura vai ate o fim para obter o total exato; sem ele
+     * para assim que encontra um registro alem da pagina.
+     */
+    DriverSearchResult search(
+            DriverFilter filter,
+            DriverSortBy sortBy,
+            boolean ascending,
+            long offset,
+            int limit,
+            boolean countAll
+    ) {
+        Criteria criteria = criteria(filter);
+        List<DriverResponse> content = new ArrayList<>(Math.min(limit, 256));
+
+        if (criteria.empty()) {
+            return new DriverSearchResult(content, 0, false);
+        }
+
+        int[] order = orders[sortBy.ordinal()];
+        long matches = 0;
+        boolean hasNext = false;
+
+        for (int i = 0; i < size; i++) {
+            int slot = order[ascending ? i : size - 1 - i];
+
+            if (!matches(criteria, slot)) {
+                continue;
+            }
+
+            if (matches >= offset && content.size() < limit) {
+                content.add(response(slot));
+            } else if (matches >= offset) {
+                hasNext = true;
+                if (!countAll) {
+                    break;
+                }
+            }
+
+            matches++;
+        }
+
+        return new DriverSearchResult(content, countAll ? matches : -1, hasNext);
+    }
+
+    /**
+     * Quantidade e ultima alteracao dos motoristas que atendem ao filtro, equivalente ao
+     * {@code count(*)}/{@code max(updated_at)} do banco, e a soma dos hashes das posicoes
+     * ({@link DriverVersion#position}), que acompanha {@link #moveTo} sem data propria.
+     */
+    DriverVersion version(DriverFilter filter) {
+        Criteria criteria = criteria(filter);
+
+        if (criteria.empty()) {
+            return new DriverVersion(0, null, 0);
+        }
+
+        int[] order = orders[DriverSortBy.UPDATED_AT.ordinal()];
+        long count = 0;
+        LocalDateTime lastUpdatedAt = null;
+        long positions = 0;
+
+        for (int i = size - 1; i >= 0; i--) {
+            int slot = order[i];
+
+            if (matches(criteria, slot)) {
+                if (count == 0) {
+                    lastUpdatedAt = updatedAts[slot];
+                }
+                count++;
+                positions += DriverVersion.position(ids[slot], latitudes[slot], longitudes[slot]);
+            }
+        }
+
+        return new DriverVersion(count, lastUpdatedAt, positions);
+    }
+
+    private boolean removed(DriverResponse driver) {
+        Long removed = tombstones.get(driver.id());
+        return removed != null && removed >= driver.version();
+    }
+
+    private Criteria criteria(DriverFilter filter) {
+        return new Criteria(
+                code(cities, filter.city() == null || filter.city().isBlank()
+                        ? null : filter.city().toLowerCase(Locale.ROOT)),
+                code(states, filter.state() == null || filter.state().isBlank()
+                        ? null : filter.state().toUpperCase(Locale.ROOT)),
+                VehicleTypes.toMask(filter.vehicleTypes()),
+                filter.text() == null || filter.text().isBlank() ? null : filter.text().toLowerCase(Locale.ROOT));
+    }
+
+    private boolean matches(Criteria criteria, int slot) {
+        return (criteria.state() == ANY || stateCodes[slot] == criteria.state())
+                && (criteria.city() == ANY || cityCodes[slot] == criteria.city())
+                && (criteria.mask() == 0 || (vehicleMasks[slot] & criteria.mask()) != 0)
+                && (criteria.text() == null || documents[slot].contains(criteria.text()));
+    }
+
+    private DriverResponse response(int slot) {
+        return new DriverResponse(
+                ids[slot],
+                names[slot],
+                emails[slot],
+                phones[slot],
+                cityNames[slot],
+                stateNames[slot],
+                VehicleTypes.fromMask(vehicleMasks[slot]),
+                true,
+                createdAts[slot],
+                updatedAts[slot],
+                versions[slot],
+                Double.isNaN(latitudes[slot]) ? null : latitudes[slot],
+                Double.isNaN(longitudes[slot]) ? null : longitudes[slot]);
+    }
+
+    private void write(int slot, DriverResponse driver) {
+        ids[slot] = driver.id();
+        idHigh[slot] = driver.id().getMostSignificantBits();
+        idLow[slot] = driver.id().getLeastSignificantBits();
+        names[slot] = driver.name();
+        emails[slot] = driver.email();
+        phones[slot] = driver.phone();
+        cityNames[slot] = driver.city();
+        stateNames[slot] = driver.state();
+        documents[slot] = document(driver);
+        cityCodes[slot] = cities.encode(driver.city() == null ? "" : driver.city().toLowerCase(Locale.ROOT));
+        stateCodes[slot] = states.encode(driver.state() == null ? "" : driver.state());
+        vehicleMasks[slot] = VehicleTypes.toMask(driver.vehicleTypes());
+        createdAts[slot] = driver.createdAt();
+        updatedAts[slot] = driver.updatedAt();
+        createdAtKeys[slot] = key(driver.createdAt());
+        updatedAtKeys[slot] = key(driver.updatedAt());
+        versions[slot] = driver.version();
+        latitudes[slot] = driver.latitude() == null ? Double.NaN : driver.latitude();
+        longitudes[slot] = driver.longitude() == null ? Double.NaN : driver.longitude();
+    }
+
+    private void clear(int slot) {
+        ids[slot] = null;
+        names[slot] = null;
+        emails[slot] = null;
+        phones[slot] = null;
+        cityNames[slot] = null;
+        stateNames[slot] = null;
+        documents[slot] = null;
+        createdAts[slot] = null;
+        updatedAts[slot] = null;
+    }
+
+    private void link(int slot) {
+        for (DriverSortBy sortBy : SORTS) {
+            link(sortBy, slot, size);
+        }
+        size++;
+    }
+
+    /**
+     * Insere o slot em uma permutacao com {@code count} elementos.
+     */
+    private void link(DriverSortBy sortBy, int slot, int count) {
+        int[] order = orders[sortBy.ordinal()];
+        int position = -(search(order, sortBy, slot, count) + 1);
+        System.arraycopy(order, position, order, position + 1, count - position);
+        order[position] = slot;
+    }
+
+    private void merge(int[] order, DriverSortBy sortBy, Integer[] added) {
+        int existing = size - 1;
+        int next = added.length - 1;
+
+        for (int target = size + added.length - 1; next >= 0; target--) {
+            if (existing >= 0 && compare(sortBy, order[existing], added[next]) > 0) {
+                order[target] = order[existing--];
+            } else {
+                order[target] = added[next--];
+            }
+        }
+    }
+
+    /**
+     * Retira o slot de uma permutacao com {@code count} elementos.
+     */
+    private void unlink(DriverSortBy sortBy, int slot, int count) {
+        int[] order = orders[sortBy.ordinal()];
+        int position = search(order, sortBy, slot, count);
+        System.arraycopy(order, position + 1, order, position, count - position - 1);
+    }
+
+    private int search(int[] order, DriverSortBy sortBy, int slot, int count) {
+        int low = 0;
+        int high = count - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = compare(sortBy, order[mid], slot);
+
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    private int[] sortedSlots(DriverSortBy sortBy) {
+        Integer[] boxed = slots.values().toArray(Integer[]::new);
+        Arrays.sort(boxed, (left, right) -> compare(sortBy, left, right));
+
+        int[] order = new int[capacity];
+        for (int i = 0; i < boxed.length; i++) {
+            order[i] = boxed[i];
+        }
+        return order;
+    }
+
+    /**
+     * Ordem ascendente por (coluna, id) equivalente a do PostgreSQL: nulos por ultimo
+     * e uuid comparado como bytes sem sinal.
+     */
+    private int compare(DriverSortBy sortBy, int left, int right) {
+        int comparison = switch (sortBy) {
+            case CREATED_AT -> Long.compare(createdAtKeys[left], createdAtKeys[right]);
+            case UPDATED_AT -> Long.compare(updatedAtKeys[left], updatedAtKeys[right]);
+            default -> throw new IllegalArgumentException("Ordenacao nao suportada em memoria: " + sortBy);
+        };
+
+        if (comparison != 0) {
+            return comparison;
+        }
+
+        comparison = Long.compareUnsigned(idHigh[left], idHigh[right]);
+        return comparison != 0 ? comparison : Long.compareUnsigned(idLow[left], idLow[right]);
+    }
+
+    private int nextSlot() {
+        if (freeCount > 0) {
+            return free[--freeCount];
+        }
+
+        if (used == capacity) {
+            allocate(capacity * 2);
+        }
+
+        return used++;
+    }
+
+    private void allocate(int newCapacity) {
+        capacity = newCapacity;
+        idHigh = idHigh == null ? new long[newCapacity] : Arrays.copyOf(idHigh, newCapacity);
+        idLow = idLow == null ? new long[newCapacity] : Arrays.copyOf(idLow, newCapacity);
+        ids = ids == null ? new UUID[newCapacity] : Arrays.copyOf(ids, newCapacity);
+        names = grow(names, newCapacity);
+        emails = grow(emails, newCapacity);
+        phones = grow(phones, newCapacity);
+        cityNames = grow(cityNames, newCapacity);
+        stateNames = grow(stateNames, newCapacity);
+        documents = grow(documents, newCapacity);
+        cityCodes = cityCodes == null ? new int[newCapacity] : Arrays.copyOf(cityCodes, newCapacity);
+        stateCodes = stateCodes == null ? new int[newCapacity] : Arrays.copyOf(stateCodes, newCapacity);
+        vehicleMasks = vehicleMasks == null ? new short[newCapacity] : Arrays.copyOf(vehicleMasks, newCapacity);
+        createdAts = createdAts == null ? new LocalDateTime[newCapacity] : Arrays.copyOf(createdAts, newCapacity);
+        updatedAts = updatedAts == null ? new LocalDateTime[newCapacity] : Arrays.copyOf(updatedAts, newCapacity);
+        createdAtKeys = createdAtKeys == null ? new long[newCapacity] : Arrays.copyOf(createdAtKeys, newCapacity);
+        updatedAtKeys = updatedAtKeys == null ? new long[newCapacity] : Arrays.copyOf(updatedAtKeys, newCapacity);
+        versions = versions == null ? new long[newCapacity] : Arrays.copyOf(versions, newCapacity);
+        latitudes = latitudes == null ? new double[newCapacity] : Arrays.copyOf(latitudes, newCapacity);
+        longitudes = longitudes == null ? new double[newCapacity] : Arrays.copyOf(longitudes, newCapacity);
+
+        for (DriverSortBy sortBy : SORTS) {
+            int[] order = orders[sortBy.ordinal()];
+            orders[sortBy.ordinal()] = order == null ? new int[newCapacity] : Arrays.copyOf(order, newCapacity);
+        }
+    }
+
+    private static String[] grow(String[] column, int newCapacity) {
+        return column == null ? new String[newCapacity] : Arrays.copyOf(column, newCapacity);
+    }
+
+    private static int code(Dictionary dictionary, String value) {
+        if (value == null) {
+            return ANY;
+        }
+
+        int code = dictionary.find(value);
+        return code < 0 ? NO_MATCH : code;
+    }
+
+    /**
+     * Mesmo conteudo de {@code driver_search_document(name, email, phone)}.
+     */
+    private static String document(DriverResponse driver) {
+        return (nullToEmpty(driver.name()) + '\n' + nullToEmpty(driver.email()) + '\n'
+                + nullToEmpty(driver.phone())).toLowerCase(Locale.ROOT);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static long key(LocalDateTime value) {
+        if (value == null) {
+            return Long.MAX_VALUE;
+        }
+
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + value.getNano();
+    }
+
+    /**
+     * Filtro ja traduzido para os codigos do dicionario.
+     */
+    private record Criteria(int city, int state, int mask, String text) {
+
+        boolean empty() {
+            return city == NO_MATCH || state == NO_MATCH;
+        }
+    }
+
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        int encode(String value) {
+            return codes.computeIfAbsent(value, key -> codes.size());
+        }
+
+        int find(String value) {
+            return codes.getOrDefault(value, -1);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.fretemais.driver.service.driver.search;
+
+import java.util.UUID;
+
+/**
+ * Motorista encontrado pelo {@link DriverGeoIndex} e sua distancia ao ponto buscado.
+ */
+public record DriverDistance(UUID id, double distanceKm) {
+}
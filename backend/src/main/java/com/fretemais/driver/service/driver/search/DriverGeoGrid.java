@@ -0,0 +1,304 @@
+package com.fretemais.driver.service.driver.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Posicoes de motoristas em uma grade de celulas de {@code cellSize} graus. Cada motorista
+ * ocupa um slot (id, latitude, longitude, mascara de tipos, versao) e a celula guarda os
+ * slots que caem nela. As escritas chegam na ordem do bloqueio, nao na do commit: uma
+ * gravacao com versao menor que a guardada e descartada, e as ultimas
+ * {@value #MAX_TOMBSTONES} remocoes sao lembradas para que uma gravacao atrasada nao traga
+ * o motorista de volta. A busca visita as celulas em aneis ao redor do ponto, da mais proxima para a
+ * mais distante, mantendo os K melhores em um heap, e para assim que nenhum anel restante
+ * pode ter alguem mais perto que o K-esimo.
+ * Nao e thread-safe: o acesso e coordenado por {@link DriverGeoIndex}.
+ */
+final class DriverGeoGrid {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_KM;
+    private static final int MAX_TOMBSTONES = 10_000;
+
+    private static final Comparator<DriverDistance> NEAREST = Comparator
+            .comparingDouble(DriverDistance::distanceKm)
+            .thenComparing(DriverDistance::id);
+
+    private final double cellSize;
+    private final int latCells;
+    private final int lonCells;
+
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private final Map<UUID, Long> tombstones = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+            return size() > MAX_TOMBSTONES;
+        }
+    };
+    private final Map<Long, Cell> cells = new HashMap<>();
+
+    private int capacity;
+    private int used;
+    private int[] free = new int[0];
+    private int freeCount;
+
+    private UUID[] ids;
+    private double[] latitudes;
+    private double[] longitudes;
+    private short[] vehicleMasks;
+    private long[] versions;
+    private long[] cellKeys;
+    private int[] positions;
+
+    DriverGeoGrid(double cellSize) {
+        this.cellSize = cellSize;
+        this.latCells = (int) Math.ceil(180 / cellSize);
+        this.lonCells = (int) Math.ceil(360 / cellSize);
+        allocate(16);
+    }
+
+    int size() {
+        return slots.size();
+    }
+
+    /**
+     * Grava a posicao do motorista na versao informada. Um motorista ausente (ainda sem
+     * posicao) entra, a menos que tenha sido removido em versao igual ou maior.
+     */
+    void put(UUID id, double latitude, double longitude, short vehicleMask, long version) {
+        Integer existing = slots.get(id);
+        Long removed = tombstones.get(id);
+
+        if (existing != null ? version < versions[existing] : removed != null && removed >= version) {
+            return;
+        }
+
+        int slot;
+
+        if (existing != null) {
+            slot = existing;
+            unlink(slot);
+        } else {
+            slot = nextSlot();
+            slots.put(id, slot);
+        }
+
+        ids[slot] = id;
+        latitudes[slot] = latitude;
+        longitudes[slot] = longitude;
+        vehicleMasks[slot] = vehicleMask;
+        versions[slot] = version;
+        cellKeys[slot] = key(latIndex(latitude), lonIndex(longitude));
+        cells.computeIfAbsent(cellKeys[slot], key -> new Cell()).add(slot, positions);
+    }
+
+    /**
+     * Remocao na versao informada (a da desativacao), lembrada como lapide.
+     */
+    void remove(UUID id, long version) {
+        tombstones.merge(id, version, Math::max);
+        evict(id, version);
+    }
+
+    /**
+     * Tira o motorista da grade sem deixar lapide (ativo, mas sem posicao), se a versao
+     * nao for menor que a guardada.
+     */
+    void evict(UUID id, long version) {
+        Integer slot = slots.get(id);
+
+        if (slot != null && version >= versions[slot]) {
+            remove(id);
+        }
+    }
+
+    void remove(UUID id) {
+        Integer slot = slots.remove(id);
+
+        if (slot == null) {
+            return;
+        }
+
+        unlink(slot);
+        ids[slot] = null;
+
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, Math.max(16, free.length * 2));
+        }
+        free[freeCount++] = slot;
+    }
+
+    private void unlink(int slot) {
+        Cell cell = cells.get(cellKeys[slot]);
+        cell.remove(slot, positions);
+        if (cell.size == 0) {
+            cells.remove(cellKeys[slot]);
+        }
+    }
+
+    /**
+     * Ate {@code limit} motoristas a no maximo {@code radiusKm} do ponto, do mais proximo
+     * para o mais distante. Com {@code vehicleMask} diferente de zero, apenas quem tem
+     * algum dos tipos da mascara.
+     */
+    List<DriverDistance> nearest(double latitude, double longitude, double radiusKm, short vehicleMask, int limit) {
+        PriorityQueue<DriverDistance> best = new PriorityQueue<>(limit + 1, NEAREST.reversed());
+
+        double radiusDegrees = radiusKm / KM_PER_DEGREE;
+        double farthestLatitude = Math.min(90, Math.abs(latitude) + radiusDegrees);
+        double cos = Math.cos(Math.toRadians(farthestLatitude));
+        int latSpan = (int) Math.ceil(radiusDegrees / cellSize);
+        // Uma celula de folga na longitude: o grau de longitude encolhe com a latitude
+        int lonSpan = cos <= 0 ? lonCells : (int) Math.ceil(radiusDegrees / cos / cellSize) + 1;
+        lonSpan = Math.min(lonSpan, (lonCells - 1) / 2);
+
+        // Menor lado de uma celula na area buscada: cada anel fica ao menos isso mais longe
+        double ringKm = cellSize * KM_PER_DEGREE * Math.max(cos, 0);
+        int centerLat = latIndex(latitude);
+        int centerLon = lonIndex(longitude);
+
+        for (int ring = 0; ring <= Math.max(latSpan, lonSpan); ring++) {
+            if (best.size() == limit && best.peek().distanceKm() <= (ring - 1) * ringKm) {
+                break;
+            }
+
+            for (int dLat = -Math.min(ring, latSpan); dLat <= Math.min(ring, latSpan); dLat++) {
+                int lat = centerLat + dLat;
+                if (lat < 0 || lat >= latCells) {
+                    continue;
+                }
+
+                if (Math.abs(dLat) == ring) {
+                    for (int dLon = -Math.min(ring, lonSpan); dLon <= Math.min(ring, lonSpan); dLon++) {
+                        visit(lat, centerLon + dLon, latitude, longitude, radiusKm, vehicleMask, limit, best);
+                    }
+                } else if (ring <= lonSpan) {
+                    visit(lat, centerLon - ring, latitude, longitude, radiusKm, vehicleMask, limit, best);
+                    if (ring > 0) {
+                        visit(lat, centerLon + ring, latitude, longitude, radiusKm, vehicleMask, limit, best);
+                    }
+                }
+            }
+        }
+
+        List<DriverDistance> result = new ArrayList<>(best);
+        result.sort(NEAREST);
+        return result;
+    }
+
+    private void visit(
+            int lat,
+            int lon,
+            double latitude,
+            double longitude,
+            double radiusKm,
+            short vehicleMask,
+            int limit,
+            PriorityQueue<DriverDistance> best
+    ) {
+        Cell cell = cells.get(key(lat, Math.floorMod(lon, lonCells)));
+
+        if (cell == null) {
+            return;
+        }
+
+        for (int i = 0; i < cell.size; i++) {
+            int slot = cell.slots[i];
+
+            if (vehicleMask != 0 && (vehicleMasks[slot] & vehicleMask) == 0) {
+                continue;
+            }
+
+            double distance = distanceKm(latitude, longitude, latitudes[slot], longitudes[slot]);
+            if (distance > radiusKm) {
+                continue;
+            }
+
+            if (best.size() < limit) {
+                best.add(new DriverDistance(ids[slot], distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new DriverDistance(ids[slot], distance));
+            }
+        }
+    }
+
+    /**
+     * Distancia pela formula de haversine.
+     */
+    static double distanceKm(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double dLat = Math.toRadians(toLatitude - fromLatitude);
+        double dLon = Math.toRadians(toLongitude - fromLongitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(fromLatitude)) * Math.cos(Math.toRadians(toLatitude))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private int latIndex(double latitude) {
+        return Math.min(latCells - 1, Math.max(0, (int) Math.floor((latitude + 90) / cellSize)));
+    }
+
+    private int lonIndex(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellSize), lonCells);
+    }
+
+    private long key(int lat, int lon) {
+        return (long) lat * lonCells + lon;
+    }
+
+    private int nextSlot() {
+        if (freeCount > 0) {
+            return free[--freeCount];
+        }
+
+        if (used == capacity) {
+            allocate(capacity * 2);
+        }
+
+        return used++;
+    }
+
+    private void allocate(int newCapacity) {
+        capacity = newCapacity;
+        ids = ids == null ? new UUID[newCapacity] : Arrays.copyOf(ids, newCapacity);
+        latitudes = latitudes == null ? new double[newCapacity] : Arrays.copyOf(latitudes, newCapacity);
+        longitudes = longitudes == null ? new double[newCapacity] : Arrays.copyOf(longitudes, newCapacity);
+        vehicleMasks = vehicleMasks == null ? new short[newCapacity] : Arrays.copyOf(vehicleMasks, newCapacity);
+        versions = versions == null ? new long[newCapacity] : Arrays.copyOf(versions, newCapacity);
+        cellKeys = cellKeys == null ? new long[newCapacity] : Arrays.copyOf(cellKeys, newCapacity);
+        positions = positions == null ? new int[newCapacity] : Arrays.copyOf(positions, newCapacity);
+    }
+
+    /**
+     * Slots de uma celula. {@code positions[slot]} guarda o indice do slot aqui, para
+     * remover trocando com o ultimo.
+     */
+    private static final class Cell {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot, int[] positions) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            positions[slot] = size;
+            slots[size++] = slot;
+        }
+
+        void remove(int slot, int[] positions) {
+            int position = positions[slot];
+            int last = slots[--size];
+            slots[position] = last;
+            positions[last] = position;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.fretemais.driver.service.driver.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fretemais.driver.service.common.datasource.DataSourceRouting;
+import com.fretemais.driver.service.driver.domain.VehicleTypes;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.repository.DriverRepository;
+import com.fretemais.driver.service.driver.specification.DriverSpecification;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Indice em memoria das posicoes dos motoristas ativos ({@link DriverGeoGrid}) para a
+ * busca por proximidade, que nao tem equivalente no banco. Segue o mesmo ciclo do
+ * {@link DriverSearchEngine}: carregado quando a aplicacao sobe, mantido por
+ * write-through a partir do {@code DriverService} e com as escritas feitas durante uma
+ * recarga reaplicadas antes da troca. Cada instancia so enxerga as escritas feitas por ela.
+ */
+@Component
+public class DriverGeoIndex {
+
+    private final DriverRepository driverRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double cellSize;
+    private final int fetchSize;
+    private final Timer nearestTimer;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private DriverGeoGrid grid;
+    private List<Consumer<DriverGeoGrid>> pending;
+    private volatile boolean ready;
+
+    public DriverGeoIndex(
+            DriverRepository driverRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${drivers.geo.cell-size-degrees:0.05}") double cellSize,
+            @Value("${drivers.geo.fetch-size:1000}") int fetchSize) {
+
+        this.driverRepository = driverRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.cellSize = cellSize;
+        this.fetchSize = fetchSize;
+        this.grid = new DriverGeoGrid(cellSize);
+        this.nearestTimer = Timer.builder("drivers.geo.nearest")
+                .description("Tempo da busca por proximidade no indice em memoria")
+                .register(meterRegistry);
+
+        Gauge.builder("drivers.geo.index.size", this, DriverGeoIndex::size)
+                .description("Motoristas ativos com posicao no indice geografico")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Recarrega as posicoes de todos os motoristas ativos. Usado na subida.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            writeLocked(() -> pending = new ArrayList<>());
+
+            DriverGeoGrid rebuilt = new DriverGeoGrid(cellSize);
+            try {
+                load(rebuilt);
+            } catch (RuntimeException ex) {
+                writeLocked(() -> pending = null);
+                throw ex;
+            }
+
+            writeLocked(() -> {
+                pending.forEach(write -> write.accept(rebuilt));
+                pending = null;
+                grid = rebuilt;
+                ready = true;
+            });
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Motoristas inativos ou sem posicao saem do indice.
+     */
+    public void upsert(DriverResponse driver) {
+        write(target -> put(target, driver));
+    }
+
+    public void upsertAll(List<DriverResponse> drivers) {
+        write(target -> drivers.forEach(driver -> put(target, driver)));
+    }
+
+    /**
+     * Posicao nova de um motorista, sem precisar da resposta completa. Ver
+     * {@link DriverGeoGrid#put}: posicoes atrasadas e motoristas removidos sao ignorados.
+     */
+    public void move(UUID id, double latitude, double longitude, short vehicleMask, long version) {
+        write(target -> target.put(id, latitude, longitude, vehicleMask, version));
+    }
+
+    /**
+     * Remocao do motorista na versao informada (a da desativacao).
+     */
+    public void remove(UUID id, long version) {
+        write(target -> target.remove(id, version));
+    }
+
+    /**
+     * Vazio enquanto o indice nao foi carregado.
+     */
+    public Optional<List<DriverDistance>> nearest(
+            double latitude,
+            double longitude,
+            double radiusKm,
+            short vehicleMask,
+            int limit
+    ) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            return Optional.of(nearestTimer.record(
+                    () -> grid.nearest(latitude, longitude, radiusKm, vehicleMask, limit)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void put(DriverGeoGrid target, DriverResponse driver) {
+        if (!driver.active()) {
+            target.remove(driver.id(), driver.version());
+            return;
+        }
+
+        if (driver.latitude() == null || driver.longitude() == null) {
+            target.evict(driver.id(), driver.version());
+            return;
+        }
+
+        target.put(driver.id(), driver.latitude(), driver.longitude(), VehicleTypes.toMask(driver.vehicleTypes()),
+                driver.version());
+    }
+
+    private void write(Consumer<DriverGeoGrid> write) {
+        writeLocked(() -> {
+            write.accept(grid);
+            if (pending != null) {
+                pending.add(write);
+            }
+        });
+    }
+
+    private void writeLocked(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return grid.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Le do primario, pelo mesmo motivo do {@link DriverSearchEngine}.
+     */
+    private void load(DriverGeoGrid target) {
+        DataSourceRouting.onPrimary(() -> transactionTemplate.execute(status -> {
+            try (Stream<DriverResponse> drivers = driverRepository.streamResponses(
+                    DriverSpecification.isActive().and(DriverSpecification.hasLocation()),
+                    Sort.unsorted(), fetchSize)) {
+                drivers.forEach(driver -> put(target, driver));
+            }
+            return null;
+        }));
+    }
+}
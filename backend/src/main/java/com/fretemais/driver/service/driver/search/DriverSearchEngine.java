@@ -0,0 +1,278 @@
+package com.fretemais.driver.service.driver.search;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fretemais.driver.service.common.datasource.DataSourceRouting;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.dto.DriverSortBy;
+import com.fretemais.driver.service.driver.dto.DriverVersion;
+import com.fretemais.driver.service.driver.repository.DriverRepository;
+import com.fretemais.driver.service.driver.specification.DriverSpecification;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Busca de motoristas ativos em memoria ({@link DriverColumns}), habilitada por
+ * {@code drivers.search.in-memory.enabled}. E carregada do banco quando a aplicacao
+ * sobe e mantida por write-through a partir do {@code DriverService}. Escritas que
+ * chegam durante uma recarga sao reaplicadas sobre os dados novos antes da troca.
+ * Enquanto nao esta pronta, ou quando a ordenacao nao e suportada (textos, que seguem
+ * a collation do banco), as buscas retornam vazio e o chamador consulta o banco.
+ * Cada instancia mantem sua propria copia: so enxerga escritas feitas por ela.
+ */
+@Component
+public class DriverSearchEngine {
+
+    private final DriverRepository driverRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int fetchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private DriverColumns columns = new DriverColumns(0);
+    private List<Consumer<DriverColumns>> pending;
+    private volatile boolean ready;
+
+    public DriverSearchEngine(
+            DriverRepository driverRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${drivers.search.in-memory.enabled:false}") boolean enabled,
+            @Value("${drivers.search.in-memory.fetch-size:1000}") int fetchSize) {
+
+        this.driverRepository = driverRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+
+        Gauge.builder("drivers.search.engine.size", this, DriverSearchEngine::size)
+                .description("Motoristas ativos mantidos pela busca em memoria")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Recarrega todos os motoristas ativos do banco. Usado na subida.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        rebuildLock.lock();
+        try {
+            writeLocked(() -> pending = new ArrayList<>());
+
+            DriverColumns rebuilt;
+            try {
+                rebuilt = DriverColumns.of(load());
+            } catch (RuntimeException ex) {
+                writeLocked(() -> pending = null);
+                throw ex;
+            }
+
+            writeLocked(() -> {
+                pending.forEach(write -> write.accept(rebuilt));
+                pending = null;
+                columns = rebuilt;
+                ready = true;
+            });
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public void upsert(DriverResponse driver) {
+        write(target -> target.upsert(driver));
+    }
+
+    /**
+     * Lote de escritas aplicado sob um unico bloqueio, como as linhas de um lote da
+     * importacao em massa.
+     */
+    public void upsertAll(List<DriverResponse> drivers) {
+        write(target -> target.upsertAll(drivers));
+    }
+
+    /**
+     * Atualizacao de posicao em tempo constante, para os envios de posicao em lote.
+     */
+    public void updateLocation(UUID id, double latitude, double longitude, long version) {
+        write(target -> target.moveTo(id, latitude, longitude, version));
+    }
+
+    /**
+     * Remocao do motorista na versao informada (a da desativacao).
+     */
+    public void remove(UUID id, long version) {
+        write(target -> target.remove(id, version));
+    }
+
+    /**
+     * Pagina com total exato: a varredura em memoria conta todos os registros.
+     */
+    public Optional<Page<DriverResponse>> page(DriverFilter filter, Pageable pageable) {
+        return search(filter, pageable, true)
+                .map(result -> new PageImpl<>(result.content(), pageable, result.total()));
+    }
+
+    public Optional<Slice<DriverResponse>> slice(DriverFilter filter, Pageable pageable) {
+        return search(filter, pageable, false)
+                .map(result -> new SliceImpl<>(result.content(), pageable, result.hasNext()));
+    }
+
+    /**
+     * Quantidade e ultima alteracao dos motoristas filtrados, base da ETag fraca da busca.
+     */
+    public Optional<DriverVersion> version(DriverFilter filter) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            return Optional.of(columns.version(filter));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Optional<DriverSearchResult> search(DriverFilter filter, Pageable pageable, boolean countAll) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        Optional<Sort.Order> order = supportedOrder(pageable.getSort());
+        Optional<DriverSortBy> sortBy = order.flatMap(DriverSearchEngine::sortBy)
+                .filter(DriverColumns::supports);
+
+        if (sortBy.isEmpty()) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            return Optional.of(columns.search(
+                    filter,
+                    sortBy.get(),
+                    order.get().isAscending(),
+                    pageable.getOffset(),
+                    pageable.getPageSize(),
+                    countAll));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aceita uma ordenacao por coluna de {@link DriverSortBy}, opcionalmente seguida
+     * de id na mesma direcao (desempate que o motor aplica sempre).
+     */
+    private static Optional<Sort.Order> supportedOrder(Sort sort) {
+        Iterator<Sort.Order> orders = sort.iterator();
+
+        if (!orders.hasNext()) {
+            return Optional.empty();
+        }
+
+        Sort.Order first = orders.next();
+
+        if (orders.hasNext()) {
+            Sort.Order second = orders.next();
+            if (orders.hasNext() || !"id".equals(second.getProperty())
+                    || second.getDirection() != first.getDirection()) {
+                return Optional.empty();
+            }
+        }
+
+        return first.isIgnoreCase() ? Optional.empty() : Optional.of(first);
+    }
+
+    private static Optional<DriverSortBy> sortBy(Sort.Order order) {
+        for (DriverSortBy sortBy : DriverSortBy.values()) {
+            if (sortBy.getProperty().equals(order.getProperty())) {
+                return Optional.of(sortBy);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private void write(Consumer<DriverColumns> write) {
+        if (!enabled) {
+            return;
+        }
+
+        writeLocked(() -> {
+            write.accept(columns);
+            if (pending != null) {
+                pending.add(write);
+            }
+        });
+    }
+
+    private void writeLocked(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return columns.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Le do primario: uma replica atrasada perderia escritas ja aplicadas por
+     * write-through, e a copia ficaria sem elas ate a proxima recarga.
+     */
+    private List<DriverResponse> load() {
+        return DataSourceRouting.onPrimary(() -> transactionTemplate.execute(status -> {
+            try (Stream<DriverResponse> drivers = driverRepository.streamResponses(
+                    DriverSpecification.isActive(), Sort.unsorted(), fetchSize)) {
+                return drivers.toList();
+            }
+        }));
+    }
+}
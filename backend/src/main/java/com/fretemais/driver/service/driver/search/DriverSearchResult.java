@@ -0,0 +1,11 @@
+package com.fretemais.driver.service.driver.search;
+
+import java.util.List;
+
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+
+/**
+ * Pagina calculada pelo motor em memoria. {@code total} e -1 quando nao foi contado.
+ */
+record DriverSearchResult(List<DriverResponse> content, long total, boolean hasNext) {
+}
@@ -82,7 +82,7 @@ public class DriverSeed {
         driver.setPhone(phone);
         driver.setCity(city);
         driver.setState(state);
-        driver.setVehicleTypes(vehicleTypes);
+        driver.setVehicleTypes(List.of(vehicleTypes));
         return driver;
     }
 }
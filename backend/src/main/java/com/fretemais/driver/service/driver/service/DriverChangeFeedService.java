@@ -0,0 +1,85 @@
+package com.fretemais.driver.service.driver.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fretemais.driver.service.common.datasource.DataSourceRouting;
+import com.fretemais.driver.service.driver.domain.Driver;
+import com.fretemais.driver.service.driver.dto.DriverChangeFeed;
+import com.fretemais.driver.service.driver.dto.DriverCursor;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.dto.DriverSortBy;
+import com.fretemais.driver.service.driver.exception.InvalidCursorException;
+import com.fretemais.driver.service.driver.repository.DriverRepository;
+import com.fretemais.driver.service.driver.specification.DriverSpecification;
+
+/**
+ * Feed de alteracoes para sincronizacao incremental, paginado por keyset em
+ * (updated_at, id) sobre todos os motoristas, inclusive os removidos.
+ * Linhas alteradas ha menos de {@code settleTime} ainda nao entram: o updated_at e
+ * definido antes do commit, e uma transacao mais lenta poderia gravar uma linha com
+ * updated_at anterior a um cursor ja entregue, que nunca mais seria lida.
+ * O corte usa o relogio do banco, o mesmo para todas as instancias; o updated_at vem do
+ * relogio de cada instancia, entao {@code settleTime} deve cobrir tambem a diferenca
+ * entre eles. A leitura vai sempre ao primario: uma replica atrasada ainda nao teria
+ * linhas ja assentadas no primario, e o cursor passaria por cima delas.
+ */
+@Service
+public class DriverChangeFeedService {
+
+    private static final Sort ORDER = Sort.by(Sort.Direction.ASC, DriverSortBy.UPDATED_AT.getProperty(), "id");
+
+    private final DriverRepository driverRepository;
+    private final DriverSearchMetrics driverSearchMetrics;
+    private final Duration settleTime;
+
+    public DriverChangeFeedService(
+            DriverRepository driverRepository,
+            DriverSearchMetrics driverSearchMetrics,
+            @Value("${drivers.changes.settle-time:2s}") Duration settleTime) {
+
+        this.driverRepository = driverRepository;
+        this.driverSearchMetrics = driverSearchMetrics;
+        this.settleTime = settleTime;
+    }
+
+    /**
+     * Sem {@code since}, comeca do inicio. Sem alteracoes novas, devolve o mesmo cursor.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public DriverChangeFeed changes(String since, int size) {
+        DriverCursor after = since == null || since.isBlank() ? null : DriverCursor.decode(since);
+
+        if (after != null && (after.sortBy() != DriverSortBy.UPDATED_AT
+                || after.direction() != Sort.Direction.ASC)) {
+            throw new InvalidCursorException("Cursor nao pertence ao feed de alteracoes");
+        }
+
+        Specification<Driver> spec = Specification
+                .where(DriverSpecification.updatedAtLeast(settleTime))
+                .and(DriverSpecification.after(after));
+
+        List<DriverResponse> rows = DataSourceRouting.onPrimary(() -> driverSearchMetrics.timeQuery("changes",
+                () -> driverRepository.findResponses(spec, ORDER, 0, size + 1)));
+
+        if (rows.isEmpty()) {
+            return new DriverChangeFeed(rows, after == null ? null : since, false);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<DriverResponse> changes = hasMore ? rows.subList(0, size) : rows;
+        DriverResponse last = changes.get(changes.size() - 1);
+
+        return new DriverChangeFeed(
+                changes,
+                DriverCursor.of(last, DriverSortBy.UPDATED_AT, Sort.Direction.ASC).encode(),
+                hasMore);
+    }
+}
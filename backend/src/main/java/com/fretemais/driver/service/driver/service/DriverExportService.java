@@ -0,0 +1,122 @@
+package com.fretemais.driver.service.driver.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.dto.DriverFileFormat;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.repository.DriverRepository;
+import com.fretemais.driver.service.driver.specification.DriverSpecification;
+
+/**
+ * Exportacao de motoristas em NDJSON ou CSV escrita direto no stream de saida,
+ * lendo o banco por cursor para manter o uso de memoria constante.
+ */
+@Service
+public class DriverExportService {
+
+    private static final String CSV_HEADER =
+            "id,name,email,phone,city,state,vehicleTypes,active,createdAt,updatedAt,latitude,longitude";
+
+    private final DriverRepository driverRepository;
+    private final ObjectWriter ndjsonWriter;
+    private final int fetchSize;
+
+    public DriverExportService(
+            DriverRepository driverRepository,
+            ObjectMapper objectMapper,
+            @Value("${drivers.export.fetch-size:1000}") int fetchSize) {
+
+        this.driverRepository = driverRepository;
+        this.ndjsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public void export(DriverFilter filter, Sort sort, DriverFileFormat format, OutputStream output)
+            throws IOException {
+
+        try (Stream<DriverResponse> drivers = driverRepository.streamResponses(
+                DriverSpecification.matching(filter), sort, fetchSize)) {
+
+            if (format == DriverFileFormat.CSV) {
+                writeCsv(drivers.iterator(), output);
+            } else {
+                writeNdjson(drivers.iterator(), output);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<DriverResponse> drivers, OutputStream output) throws IOException {
+        JsonGenerator generator = ndjsonWriter.createGenerator(output);
+
+        while (drivers.hasNext()) {
+            ndjsonWriter.writeValue(generator, drivers.next());
+            generator.writeRaw('\n');
+        }
+
+        generator.flush();
+    }
+
+    private void writeCsv(Iterator<DriverResponse> drivers, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        while (drivers.hasNext()) {
+            DriverResponse driver = drivers.next();
+            String vehicleTypes = driver.vehicleTypes().stream()
+                    .map(VehicleType::name)
+                    .collect(Collectors.joining("|"));
+
+            writer.write(String.join(",",
+                    String.valueOf(driver.id()),
+                    csv(driver.name()),
+                    csv(driver.email()),
+                    csv(driver.phone()),
+                    csv(driver.city()),
+                    csv(driver.state()),
+                    vehicleTypes,
+                    String.valueOf(driver.active()),
+                    csv(driver.createdAt() == null ? null : driver.createdAt().toString()),
+                    csv(driver.updatedAt() == null ? null : driver.updatedAt().toString()),
+                    driver.latitude() == null ? "" : driver.latitude().toString(),
+                    driver.longitude() == null ? "" : driver.longitude().toString()));
+            writer.write('\n');
+        }
+
+        writer.flush();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,81 @@
+package com.fretemais.driver.service.driver.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fretemais.driver.service.driver.dto.DriverFacets;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.repository.DriverFacetRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Contagens por faceta do filtro de busca. Resultados sem filtro ou de filtros pouco
+ * seletivos (pelo menos {@code cacheMinTotal} motoristas) ficam em cache por
+ * {@code cacheTtl}: sao os mais caros de calcular e os que menos mudam em termos relativos.
+ */
+@Service
+public class DriverFacetService {
+
+    private final DriverFacetRepository driverFacetRepository;
+    private final DriverSearchMetrics driverSearchMetrics;
+    private final Cache<String, DriverFacets> cache;
+    private final long cacheMinTotal;
+    private final int cityLimit;
+
+    public DriverFacetService(
+            DriverFacetRepository driverFacetRepository,
+            DriverSearchMetrics driverSearchMetrics,
+            MeterRegistry meterRegistry,
+            @Value("${drivers.facets.cache-ttl:10s}") Duration cacheTtl,
+            @Value("${drivers.facets.cache-min-total:10000}") long cacheMinTotal,
+            @Value("${drivers.facets.city-limit:100}") int cityLimit) {
+
+        this.driverFacetRepository = driverFacetRepository;
+        this.driverSearchMetrics = driverSearchMetrics;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(1_000)
+                .recordStats()
+                .build();
+        this.cacheMinTotal = cacheMinTotal;
+        this.cityLimit = cityLimit;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "driverFacets");
+    }
+
+    /**
+     * Retorna no maximo {@code cityLimit} cidades, as de maior contagem.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public DriverFacets facets(DriverFilter filter) {
+        String key = key(filter);
+        DriverFacets cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        DriverFacets counted = driverSearchMetrics.timeQuery("facets", () -> driverFacetRepository.count(filter));
+        DriverFacets facets = counted.cities().size() <= cityLimit
+                ? counted
+                : new DriverFacets(counted.total(), counted.states(), counted.cities().subList(0, cityLimit),
+                        counted.vehicleTypes());
+
+        if (key.equals(key(new DriverFilter(null, null, null, null))) || facets.total() >= cacheMinTotal) {
+            cache.put(key, facets);
+        }
+
+        return facets;
+    }
+
+    private static String key(DriverFilter filter) {
+        return DriverFacetRepository.cacheKey(filter);
+    }
+}
@@ -0,0 +1,350 @@
+package com.fretemais.driver.service.driver.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.domain.VehicleTypes;
+import com.fretemais.driver.service.driver.dto.DriverCreateRequest;
+import com.fretemais.driver.service.driver.dto.DriverFileFormat;
+import com.fretemais.driver.service.driver.dto.DriverImportError;
+import com.fretemais.driver.service.driver.dto.DriverImportResult;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.search.DriverGeoIndex;
+import com.fretemais.driver.service.driver.search.DriverSearchEngine;
+import com.fretemais.driver.service.driver.stream.DriverEvent;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Importacao em massa de motoristas a partir de NDJSON ou CSV lido em streaming.
+ * Cada linha passa pela mesma validacao de {@link DriverCreateRequest} e as linhas
+ * validas sao gravadas em lotes JDBC de tamanho fixo, cada lote em sua transacao.
+ * Se o lote falha, suas linhas sao regravadas uma a uma, para que so as linhas com
+ * problema (ex.: e-mail duplicado) sejam rejeitadas e reportadas com o numero certo.
+ * As linhas gravadas entram na busca em memoria e no indice geografico lote a lote e
+ * sao publicadas como {@link DriverEvent.Type#CREATED}, como um cadastro comum.
+ * A memoria usada nao depende do tamanho do arquivo: apenas um lote e no maximo
+ * {@code maxErrors} erros ficam retidos.
+ */
+@Service
+public class DriverImportService {
+
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO drivers (id, name, email, phone, city, state, vehicle_types, vehicle_types_mask,
+                latitude, longitude, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, CAST(? AS text[]), ?, ?, ?, ?, ?)
+            """;
+
+    private static final String VEHICLE_TYPE_SEPARATOR = "|";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxErrors;
+    private final DriverSearchEngine driverSearchEngine;
+    private final DriverGeoIndex driverGeoIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DriverImportService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            Validator validator,
+            ObjectMapper objectMapper,
+            DriverSearchEngine driverSearchEngine,
+            DriverGeoIndex driverGeoIndex,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${drivers.import.batch-size:500}") int batchSize,
+            @Value("${drivers.import.max-errors:1000}") int maxErrors) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        this.driverSearchEngine = driverSearchEngine;
+        this.driverGeoIndex = driverGeoIndex;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public DriverImportResult importDrivers(InputStream input, DriverFileFormat format) throws IOException {
+        Report report = new Report(maxErrors);
+        List<Row> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            List<String> header = null;
+            long lineNumber = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                if (format == DriverFileFormat.CSV && header == null) {
+                    header = parseCsvLine(line).stream()
+                            .map(String::trim)
+                            .toList();
+                    continue;
+                }
+
+                DriverCreateRequest request;
+                try {
+                    request = format == DriverFileFormat.CSV
+                            ? fromCsv(header, parseCsvLine(line))
+                            : objectMapper.readValue(line, DriverCreateRequest.class);
+                } catch (JsonProcessingException | IllegalArgumentException ex) {
+                    request = null;
+                }
+
+                if (request == null) {
+                    report.fail(lineNumber, "Linha invalida", null);
+                    continue;
+                }
+
+                Set<ConstraintViolation<DriverCreateRequest>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    report.fail(lineNumber, "Dados invalidos", toFields(violations));
+                    continue;
+                }
+
+                batch.add(new Row(lineNumber, request));
+                if (batch.size() == batchSize) {
+                    flush(batch, report);
+                }
+            }
+        }
+
+        flush(batch, report);
+
+        return report.toResult();
+    }
+
+    private void flush(List<Row> batch, Report report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Precisao do TIMESTAMP do PostgreSQL, para que o indice em memoria e as ETags
+        // vejam o mesmo valor que uma leitura do banco.
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<DriverResponse> drivers = batch.stream()
+                .map(row -> toResponse(row.request(), now))
+                .toList();
+
+        try {
+            insert(drivers);
+            report.imported += drivers.size();
+            index(drivers);
+        } catch (DataAccessException ex) {
+            List<DriverResponse> written = new ArrayList<>(drivers.size());
+
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    insert(List.of(drivers.get(i)));
+                    written.add(drivers.get(i));
+                } catch (DataAccessException rowEx) {
+                    report.fail(batch.get(i).line(), "Falha ao gravar linha", null);
+                }
+            }
+
+            report.imported += written.size();
+            index(written);
+        }
+
+        batch.clear();
+    }
+
+    private void insert(List<DriverResponse> drivers) {
+        List<Object[]> params = drivers.stream()
+                .map(DriverImportService::toParams)
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, params);
+            drivers.forEach(driver -> eventPublisher.publishEvent(
+                    new DriverEvent(DriverEvent.Type.CREATED, driver)));
+        });
+    }
+
+    private void index(List<DriverResponse> drivers) {
+        if (!drivers.isEmpty()) {
+            driverSearchEngine.upsertAll(drivers);
+            driverGeoIndex.upsertAll(drivers);
+        }
+    }
+
+    private static DriverResponse toResponse(DriverCreateRequest request, LocalDateTime now) {
+        Set<VehicleType> vehicleTypes = request.vehicleTypes().stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(VehicleType.class)));
+
+        return new DriverResponse(
+                UUID.randomUUID(),
+                request.name(),
+                request.email(),
+                request.phone(),
+                request.city(),
+                request.state().toUpperCase(),
+                vehicleTypes,
+                true,
+                now,
+                now,
+                0L,
+                request.latitude(),
+                request.longitude());
+    }
+
+    private static Object[] toParams(DriverResponse driver) {
+        return new Object[] {
+                driver.id(),
+                driver.name(),
+                driver.email(),
+                driver.phone(),
+                driver.city(),
+                driver.state(),
+                driver.vehicleTypes().stream()
+                        .map(VehicleType::name)
+                        .toArray(String[]::new),
+                VehicleTypes.toMask(driver.vehicleTypes()),
+                driver.latitude(),
+                driver.longitude(),
+                driver.createdAt(),
+                driver.updatedAt()
+        };
+    }
+
+    private static DriverCreateRequest fromCsv(List<String> header, List<String> values) {
+        Map<String, String> row = new LinkedHashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            String value = values.get(i).trim();
+            row.put(header.get(i), value.isEmpty() ? null : value);
+        }
+
+        String vehicleTypes = row.get("vehicleTypes");
+        Set<VehicleType> types = EnumSet.noneOf(VehicleType.class);
+        if (vehicleTypes != null) {
+            for (String type : vehicleTypes.split("\\" + VEHICLE_TYPE_SEPARATOR)) {
+                if (!type.isBlank()) {
+                    types.add(VehicleType.valueOf(type.trim().toUpperCase()));
+                }
+            }
+        }
+
+        return new DriverCreateRequest(
+                row.get("name"),
+                row.get("email"),
+                row.get("phone"),
+                row.get("city"),
+                row.get("state"),
+                types,
+                decimal(row.get("latitude")),
+                decimal(row.get("longitude")));
+    }
+
+    private static Double decimal(String value) {
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    /**
+     * Divide uma linha CSV (RFC 4180, sem quebras de linha dentro de campos).
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        values.add(current.toString());
+        return values;
+    }
+
+    private static Map<String, String> toFields(Set<ConstraintViolation<DriverCreateRequest>> violations) {
+        return violations.stream()
+                .collect(Collectors.toMap(
+                        violation -> violation.getPropertyPath().toString(),
+                        violation -> violation.getMessage(),
+                        (existing, replacement) -> existing,
+                        LinkedHashMap::new
+                ));
+    }
+
+    private record Row(long line, DriverCreateRequest request) {
+    }
+
+    private static final class Report {
+
+        private final int maxErrors;
+        private final List<DriverImportError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        private Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(long line, String message, Map<String, String> fields) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new DriverImportError(line, message, fields));
+            }
+        }
+
+        private DriverImportResult toResult() {
+            return new DriverImportResult(imported, failed, errors, failed > errors.size());
+        }
+    }
+}
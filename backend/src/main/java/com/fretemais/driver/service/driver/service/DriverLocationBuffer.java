@@ -0,0 +1,104 @@
+package com.fretemais.driver.service.driver.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.fretemais.driver.service.driver.repository.DriverLocation;
+
+/**
+ * Posicoes recebidas e ainda nao gravadas, no maximo uma por motorista: uma nova posicao
+ * substitui a anterior (last-write-wins). Os motoristas sao distribuidos em faixas com
+ * lock proprio, entao envios de motoristas diferentes raramente disputam o mesmo lock.
+ */
+final class DriverLocationBuffer {
+
+    private final ReentrantLock[] locks;
+    private final Map<UUID, DriverLocation>[] stripes;
+    private final AtomicInteger size = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    DriverLocationBuffer(int stripes) {
+        int count = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+        this.locks = new ReentrantLock[count];
+        this.stripes = new Map[count];
+
+        for (int i = 0; i < count; i++) {
+            locks[i] = new ReentrantLock();
+            this.stripes[i] = new HashMap<>();
+        }
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Retorna {@code true} quando substituiu uma posicao ainda pendente do motorista.
+     */
+    boolean put(DriverLocation location) {
+        int stripe = stripe(location.id());
+
+        locks[stripe].lock();
+        try {
+            boolean replaced = stripes[stripe].put(location.id(), location) != null;
+            if (!replaced) {
+                size.incrementAndGet();
+            }
+            return replaced;
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    /**
+     * Devolve posicoes que nao puderam ser gravadas, sem sobrescrever as que chegaram depois.
+     */
+    void restore(List<DriverLocation> locations) {
+        for (DriverLocation location : locations) {
+            int stripe = stripe(location.id());
+
+            locks[stripe].lock();
+            try {
+                if (stripes[stripe].putIfAbsent(location.id(), location) == null) {
+                    size.incrementAndGet();
+                }
+            } finally {
+                locks[stripe].unlock();
+            }
+        }
+    }
+
+    /**
+     * Esvazia o buffer, trocando o mapa de cada faixa por um novo sob o lock da faixa.
+     */
+    List<DriverLocation> drain() {
+        List<DriverLocation> drained = new ArrayList<>(size.get());
+
+        for (int i = 0; i < stripes.length; i++) {
+            Map<UUID, DriverLocation> taken;
+
+            locks[i].lock();
+            try {
+                taken = stripes[i];
+                stripes[i] = new HashMap<>();
+                size.addAndGet(-taken.size());
+            } finally {
+                locks[i].unlock();
+            }
+
+            drained.addAll(taken.values());
+        }
+
+        return drained;
+    }
+
+    private int stripe(UUID id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
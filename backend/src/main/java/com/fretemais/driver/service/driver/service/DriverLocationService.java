@@ -0,0 +1,158 @@
+package com.fretemais.driver.service.driver.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fretemais.driver.service.driver.cache.DriverCache;
+import com.fretemais.driver.service.driver.dto.DriverLocationUpdate;
+import com.fretemais.driver.service.driver.repository.DriverLocation;
+import com.fretemais.driver.service.driver.repository.DriverPosition;
+import com.fretemais.driver.service.driver.repository.DriverWriteRepository;
+import com.fretemais.driver.service.driver.search.DriverGeoIndex;
+import com.fretemais.driver.service.driver.search.DriverSearchEngine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Recebe posicoes de motoristas sem tocar o banco: cada envio vai para o
+ * {@link DriverLocationBuffer}, onde so a ultima posicao de cada motorista fica. A cada
+ * {@code drivers.location.flush-interval} o buffer e esvaziado e gravado em UPDATEs de
+ * ate {@code drivers.location.flush-batch-size} motoristas; as posicoes gravadas atualizam
+ * cache, busca em memoria e indice geografico por caminhos proprios, que so trocam a posicao.
+ * Como {@code updated_at} nao muda, posicoes nao aparecem no feed de alteracoes nem em
+ * {@code /drivers/stream}.
+ * Se o UPDATE falhar, as posicoes voltam ao buffer para a proxima tentativa.
+ */
+@Service
+public class DriverLocationService {
+
+    private final DriverLocationBuffer buffer;
+    private final DriverWriteRepository driverWriteRepository;
+    private final DriverCache driverCache;
+    private final DriverSearchEngine driverSearchEngine;
+    private final DriverGeoIndex driverGeoIndex;
+    private final int flushBatchSize;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong coalescedSinceFlush = new AtomicLong();
+
+    private final Counter received;
+    private final Counter coalesced;
+    private final Counter written;
+    private final Counter failed;
+    private final Timer flushTimer;
+    private final DistributionSummary coalescing;
+
+    public DriverLocationService(
+            DriverWriteRepository driverWriteRepository,
+            DriverCache driverCache,
+            DriverSearchEngine driverSearchEngine,
+            DriverGeoIndex driverGeoIndex,
+            MeterRegistry meterRegistry,
+            @Value("${drivers.location.stripes:16}") int stripes,
+            @Value("${drivers.location.flush-batch-size:1000}") int flushBatchSize) {
+
+        this.buffer = new DriverLocationBuffer(stripes);
+        this.driverWriteRepository = driverWriteRepository;
+        this.driverCache = driverCache;
+        this.driverSearchEngine = driverSearchEngine;
+        this.driverGeoIndex = driverGeoIndex;
+        this.flushBatchSize = flushBatchSize;
+
+        this.received = Counter.builder("drivers.location.received")
+                .description("Posicoes recebidas")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("drivers.location.coalesced")
+                .description("Posicoes substituidas no buffer por uma mais recente antes da gravacao")
+                .register(meterRegistry);
+        this.written = Counter.builder("drivers.location.written")
+                .description("Posicoes gravadas no banco apos a coalescencia")
+                .register(meterRegistry);
+        this.failed = Counter.builder("drivers.location.failed")
+                .description("Posicoes devolvidas ao buffer por falha na gravacao")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("drivers.location.flush")
+                .description("Tempo de gravacao de um lote de posicoes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.coalescing = DistributionSummary.builder("drivers.location.coalescing.ratio")
+                .description("Posicoes recebidas por linha gravada em cada descarga do buffer")
+                .register(meterRegistry);
+
+        Gauge.builder("drivers.location.buffer.size", buffer, DriverLocationBuffer::size)
+                .description("Motoristas com posicao aguardando gravacao")
+                .register(meterRegistry);
+    }
+
+    public void record(UUID id, double latitude, double longitude) {
+        received.increment();
+        if (buffer.put(new DriverLocation(id, latitude, longitude))) {
+            coalesced.increment();
+            coalescedSinceFlush.incrementAndGet();
+        }
+    }
+
+    public void recordAll(List<DriverLocationUpdate> locations) {
+        for (DriverLocationUpdate location : locations) {
+            record(location.driverId(), location.latitude(), location.longitude());
+        }
+    }
+
+    /**
+     * Grava o que estiver no buffer. Retorna a quantidade de motoristas enviados ao banco.
+     */
+    @Scheduled(fixedDelayString = "${drivers.location.flush-interval:1000}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            List<DriverLocation> pending = buffer.drain();
+            long replaced = coalescedSinceFlush.getAndSet(0);
+
+            if (!pending.isEmpty()) {
+                coalescing.record((double) (pending.size() + replaced) / pending.size());
+            }
+
+            for (int start = 0; start < pending.size(); start += flushBatchSize) {
+                List<DriverLocation> batch = pending.subList(start, Math.min(start + flushBatchSize, pending.size()));
+
+                try {
+                    List<DriverPosition> updated = flushTimer.record(() -> driverWriteRepository.updateLocations(batch));
+                    written.increment(batch.size());
+                    updated.forEach(this::apply);
+                } catch (DataAccessException ex) {
+                    failed.increment(batch.size());
+                    buffer.restore(pending.subList(start, pending.size()));
+                    return start;
+                }
+            }
+
+            return pending.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void apply(DriverPosition position) {
+        driverCache.updateLocation(position.id(), position.latitude(), position.longitude(), position.version());
+        driverSearchEngine.updateLocation(position.id(), position.latitude(), position.longitude(),
+                position.version());
+        driverGeoIndex.move(position.id(), position.latitude(), position.longitude(), position.vehicleTypesMask(),
+                position.version());
+    }
+}
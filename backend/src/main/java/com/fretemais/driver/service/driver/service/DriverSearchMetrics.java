@@ -0,0 +1,88 @@
+package com.fretemais.driver.service.driver.service;
+
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Metricas da busca de motoristas: tempo total por combinacao de filtros, ordenacao e
+ * origem (banco ou memoria), tempo de cada consulta ao banco (pagina, count,
+ * estimativa) e tamanho do resultado.
+ */
+@Component
+@RequiredArgsConstructor
+public class DriverSearchMetrics {
+
+    private static final double[] RESULT_SIZE_BUCKETS = {1, 5, 10, 25, 50, 100, 250, 500, 1000};
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordSearch(
+            Timer.Sample sample,
+            DriverFilter filter,
+            Sort sort,
+            String mode,
+            String source,
+            int resultSize
+    ) {
+        String filters = filtersTag(filter);
+
+        sample.stop(Timer.builder("drivers.search")
+                .description("Tempo total da busca de motoristas")
+                .tag("filters", filters)
+                .tag("sort", sort.stream().findFirst().map(Sort.Order::getProperty).orElse("unsorted"))
+                .tag("mode", mode)
+                .tag("source", source)
+                .register(meterRegistry));
+
+        DistributionSummary.builder("drivers.search.results")
+                .description("Quantidade de motoristas retornados por busca")
+                .baseUnit("rows")
+                .tag("filters", filters)
+                .tag("mode", mode)
+                .serviceLevelObjectives(RESULT_SIZE_BUCKETS)
+                .register(meterRegistry)
+                .record(resultSize);
+    }
+
+    public <T> T timeQuery(String query, Supplier<T> supplier) {
+        return Timer.builder("drivers.search.query")
+                .description("Tempo de cada consulta ao banco feita pela busca")
+                .tag("query", query)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(supplier);
+    }
+
+    private static String filtersTag(DriverFilter filter) {
+        StringJoiner filters = new StringJoiner("+");
+
+        if (filter.text() != null && !filter.text().isBlank()) {
+            filters.add("text");
+        }
+        if (filter.city() != null && !filter.city().isBlank()) {
+            filters.add("city");
+        }
+        if (filter.state() != null && !filter.state().isBlank()) {
+            filters.add("state");
+        }
+        if (filter.vehicleTypes() != null && !filter.vehicleTypes().isEmpty()) {
+            filters.add("vehicleTypes");
+        }
+
+        return filters.length() == 0 ? "none" : filters.toString();
+    }
+}
@@ -1,22 +1,63 @@
 package com.fretemais.driver.service.driver.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.LongSupplier;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fretemais.driver.service.driver.cache.DriverCache;
 import com.fretemais.driver.service.driver.domain.Driver;
 import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.domain.VehicleTypes;
+import com.fretemais.driver.service.driver.dto.CursorPage;
+import com.fretemais.driver.service.driver.dto.DriverBatchGetResponse;
 import com.fretemais.driver.service.driver.dto.DriverCreateRequest;
+import com.fretemais.driver.service.driver.dto.DriverCursor;
+import com.fretemais.driver.service.driver.dto.DriverField;
 import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.dto.DriverPatchRequest;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.dto.DriverSortBy;
+import com.fretemais.driver.service.driver.dto.DriverTotalMode;
 import com.fretemais.driver.service.driver.dto.DriverUpdateRequest;
+import com.fretemais.driver.service.driver.dto.DriverVersion;
+import com.fretemais.driver.service.driver.dto.NearbyDriver;
+import com.fretemais.driver.service.driver.exception.DriverGeoIndexUnavailableException;
 import com.fretemais.driver.service.driver.exception.DriverNotFoundException;
+import com.fretemais.driver.service.driver.exception.DriverVersionConflictException;
+import com.fretemais.driver.service.driver.exception.InvalidCursorException;
+import com.fretemais.driver.service.driver.repository.DriverChanges;
+import com.fretemais.driver.service.driver.repository.DriverCountEstimator;
 import com.fretemais.driver.service.driver.repository.DriverRepository;
+import com.fretemais.driver.service.driver.repository.DriverRevision;
+import com.fretemais.driver.service.driver.repository.DriverWriteRepository;
+import com.fretemais.driver.service.driver.search.DriverDistance;
+import com.fretemais.driver.service.driver.search.DriverGeoIndex;
+import com.fretemais.driver.service.driver.search.DriverSearchEngine;
 import com.fretemais.driver.service.driver.specification.DriverSpecification;
+import com.fretemais.driver.service.driver.stream.DriverEvent;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
@@ -24,50 +65,383 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class DriverService {
 
+    private static final String DATABASE_SOURCE = "database";
+    private static final String MEMORY_SOURCE = "memory";
+    private static final int BATCH_GET_CHUNK_SIZE = 500;
+    private static final Set<DriverField> ETAG_FIELDS = EnumSet.of(
+            DriverField.ID, DriverField.UPDATED_AT, DriverField.LATITUDE, DriverField.LONGITUDE);
+
     private final DriverRepository driverRepository;
+    private final DriverWriteRepository driverWriteRepository;
+    private final DriverCountEstimator driverCountEstimator;
+    private final DriverCache driverCache;
+    private final DriverSearchMetrics driverSearchMetrics;
+    private final DriverSearchEngine driverSearchEngine;
+    private final DriverGeoIndex driverGeoIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Driver create(DriverCreateRequest request) {
         Driver driver = new Driver();
         applyRequest(driver, request.name(), request.email(), request.phone(),
                 request.city(), request.state(), request.vehicleTypes());
+        driver.setLatitude(request.latitude());
+        driver.setLongitude(request.longitude());
 
-        return driverRepository.save(driver);
+        Driver saved = driverRepository.save(driver);
+        DriverResponse response = DriverResponse.from(saved);
+        driverCache.put(response);
+        driverSearchEngine.upsert(response);
+        driverGeoIndex.upsert(response);
+        eventPublisher.publishEvent(new DriverEvent(DriverEvent.Type.CREATED, response));
+        return saved;
     }
 
-    public Driver findById(UUID id) {
-        return findActiveDriver(id);
+    /**
+     * Sem transacao propria (SUPPORTS): um acerto no cache nao ocupa conexao do pool.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public DriverResponse findById(UUID id) {
+        return driverCache.get(id).orElseGet(() -> {
+            Specification<Driver> spec = Specification
+                    .where(DriverSpecification.hasId(id))
+                    .and(DriverSpecification.isActive());
+
+            DriverResponse driver = driverRepository.findResponses(spec, Sort.unsorted(), 0, 1).stream()
+                    .findFirst()
+                    .orElseThrow(() -> new DriverNotFoundException(id));
+
+            driverCache.fill(driver);
+            return driver;
+        });
     }
 
-    public Driver update(UUID id, DriverUpdateRequest request) {
-        Driver driver = findActiveDriver(id);
-        applyRequest(driver, request.name(), request.email(), request.phone(),
-                request.city(), request.state(), request.vehicleTypes());
+    /**
+     * Campos da ETag de um motorista ativo (updatedAt e posicao), lidos do cache ou apenas
+     * essas colunas do banco, para validar ETags sem montar a resposta. Os demais campos
+     * vem nulos quando lidos do banco. Como {@link #findById}, nao abre transacao.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public DriverResponse findETagFields(UUID id) {
+        return driverCache.get(id).orElseGet(() -> driverRepository.findResponses(
+                        Specification.where(DriverSpecification.hasId(id)).and(DriverSpecification.isActive()),
+                        Sort.unsorted(), 0, 1, ETAG_FIELDS)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new DriverNotFoundException(id)));
+    }
+
+    /**
+     * Quantidade e ultima alteracao dos motoristas que atendem ao filtro, base da
+     * ETag fraca das paginas de busca. Com a busca em memoria pronta, o banco nao e
+     * consultado.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public DriverVersion findVersion(DriverFilter filter) {
+        return driverSearchEngine.version(filter).orElseGet(() -> driverSearchMetrics.timeQuery("version",
+                () -> driverRepository.findVersion(DriverSpecification.matching(filter))));
+    }
+
+    /**
+     * Busca varios motoristas de uma vez: ids em cache sao resolvidos sem banco e os
+     * demais com uma consulta IN por bloco de {@value #BATCH_GET_CHUNK_SIZE}.
+     * Ids repetidos sao considerados uma vez. Sem transacao propria, para que um lote todo
+     * em cache nao ocupe conexao.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public DriverBatchGetResponse findByIds(List<UUID> ids) {
+        Map<UUID, DriverResponse> found = new HashMap<>();
+        List<UUID> toLoad = new ArrayList<>();
+        Set<UUID> requested = new LinkedHashSet<>(ids);
+
+        for (UUID id : requested) {
+            driverCache.get(id).ifPresentOrElse(driver -> found.put(id, driver), () -> toLoad.add(id));
+        }
+
+        for (int start = 0; start < toLoad.size(); start += BATCH_GET_CHUNK_SIZE) {
+            List<UUID> chunk = toLoad.subList(start, Math.min(start + BATCH_GET_CHUNK_SIZE, toLoad.size()));
+            Specification<Driver> spec = Specification
+                    .where(DriverSpecification.hasIds(chunk))
+                    .and(DriverSpecification.isActive());
+
+            for (DriverResponse driver : driverRepository.findResponses(spec, Sort.unsorted(), 0, chunk.size())) {
+                found.put(driver.id(), driver);
+                driverCache.fill(driver);
+            }
+        }
+
+        List<DriverResponse> drivers = new ArrayList<>(found.size());
+        List<UUID> missing = new ArrayList<>();
+
+        for (UUID id : requested) {
+            DriverResponse driver = found.get(id);
+            if (driver != null) {
+                drivers.add(driver);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        return new DriverBatchGetResponse(drivers, missing);
+    }
 
-        return driverRepository.save(driver);
+    /**
+     * Ate {@code limit} motoristas ativos a no maximo {@code radiusKm} do ponto, do mais
+     * proximo para o mais distante. A selecao sai do {@link DriverGeoIndex}; o banco so e
+     * consultado para os motoristas escolhidos que nao estao em cache.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<NearbyDriver> findNearby(
+            double latitude,
+            double longitude,
+            double radiusKm,
+            Set<VehicleType> vehicleTypes,
+            int limit
+    ) {
+        List<DriverDistance> nearest = driverGeoIndex
+                .nearest(latitude, longitude, radiusKm, VehicleTypes.toMask(vehicleTypes), limit)
+                .orElseThrow(DriverGeoIndexUnavailableException::new);
+
+        if (nearest.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, DriverResponse> drivers = new HashMap<>();
+        findByIds(nearest.stream().map(DriverDistance::id).toList()).drivers()
+                .forEach(driver -> drivers.put(driver.id(), driver));
+
+        return nearest.stream()
+                .filter(candidate -> drivers.containsKey(candidate.id()))
+                .map(candidate -> new NearbyDriver(drivers.get(candidate.id()), candidate.distanceKm()))
+                .toList();
     }
 
-    public void delete(UUID id) {
-        Driver driver = findActiveDriver(id);
-        driver.setActive(false);
-        driverRepository.save(driver);
+    /**
+     * Substitui os dados do motorista em um unico UPDATE. Com versao informada,
+     * falha com conflito se o motorista tiver sido alterado depois dela.
+     */
+    public DriverResponse update(UUID id, DriverUpdateRequest request) {
+        return write(id, request.version(), new DriverChanges(
+                request.name(),
+                request.email(),
+                request.phone(),
+                request.city(),
+                normalizeState(request.state()),
+                request.vehicleTypes(),
+                request.latitude(),
+                request.longitude(),
+                false));
     }
 
-    public Page<Driver> search(DriverFilter filter, @NonNull Pageable pageable) {
+    /**
+     * Atualizacao parcial: apenas os campos informados entram no UPDATE.
+     */
+    public DriverResponse patch(UUID id, DriverPatchRequest request) {
+        return write(id, request.version(), new DriverChanges(
+                request.name(),
+                request.email(),
+                request.phone(),
+                request.city(),
+                normalizeState(request.state()),
+                request.vehicleTypes(),
+                request.latitude(),
+                request.longitude(),
+                true));
+    }
+
+    public void delete(UUID id, Long version) {
+        DriverResponse deleted = driverWriteRepository.deactivate(id, version)
+                .orElseThrow(() -> writeFailure(id, version));
+
+        driverCache.put(deleted);
+        driverSearchEngine.remove(id, deleted.version());
+        driverGeoIndex.remove(id, deleted.version());
+        eventPublisher.publishEvent(new DriverEvent(DriverEvent.Type.DELETED, deleted));
+    }
 
-        Specification<Driver> spec = Specification
-                .where(DriverSpecification.isActive())
-                .and(DriverSpecification.hasText(filter.text()))
-                .and(DriverSpecification.hasCity(filter.city()))
-                .and(DriverSpecification.hasState(filter.state()))
-                .and(DriverSpecification.hasVehicleTypes(filter.vehicleTypes()));
+    /**
+     * Busca paginada com total exato. Com a busca em memoria pronta, o banco nao e
+     * consultado; por isso o metodo nao abre transacao (SUPPORTS) e cada consulta ao
+     * banco usa a sua conexao. O escopo somente leitura envia essas consultas para a
+     * replica, quando configurada.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Page<DriverResponse> search(DriverFilter filter, @NonNull Pageable pageable) {
+        return searchPage(filter, pageable, DriverField.ALL, () -> count(filter));
+    }
 
-        return driverRepository.findAll(spec, pageable);
+    /**
+     * Pagina com total exato ja conhecido, como o {@link DriverVersion#count()} calculado
+     * para a ETag da busca: o filtro nao e contado de novo.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Page<DriverResponse> search(
+            DriverFilter filter,
+            @NonNull Pageable pageable,
+            Set<DriverField> fields,
+            long total
+    ) {
+        return searchPage(filter, pageable, fields, () -> total);
     }
 
-    private Driver findActiveDriver(UUID id) {
-        return driverRepository.findById(id)
-                .filter(Driver::isActive)
-                .orElseThrow(() -> new DriverNotFoundException(id));
+    private Page<DriverResponse> searchPage(
+            DriverFilter filter, Pageable pageable, Set<DriverField> fields, LongSupplier total) {
+
+        Timer.Sample sample = driverSearchMetrics.start();
+        Optional<Page<DriverResponse>> inMemory = driverSearchEngine.page(filter, pageable);
+
+        if (inMemory.isPresent()) {
+            driverSearchMetrics.recordSearch(sample, filter, pageable.getSort(), DriverTotalMode.EXACT.name(),
+                    MEMORY_SOURCE, inMemory.get().getNumberOfElements());
+            return inMemory.get();
+        }
+
+        Specification<Driver> spec = DriverSpecification.matching(filter);
+
+        List<DriverResponse> content = driverSearchMetrics.timeQuery("page", () -> findResponses(
+                spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize(), fields));
+        Page<DriverResponse> page = PageableExecutionUtils.getPage(content, pageable, total);
+
+        driverSearchMetrics.recordSearch(sample, filter, pageable.getSort(), DriverTotalMode.EXACT.name(),
+                DATABASE_SOURCE, content.size());
+        return page;
+    }
+
+    /**
+     * Busca paginada com estrategia de total: EXACT executa o COUNT, ESTIMATE usa a
+     * estimativa do planner e NONE retorna apenas um Slice com indicacao de proxima pagina.
+     * Em memoria, ESTIMATE recebe o total exato, que sai da mesma varredura.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Slice<DriverResponse> search(DriverFilter filter, @NonNull Pageable pageable, DriverTotalMode totalMode) {
+        return search(filter, pageable, totalMode, DriverField.ALL);
+    }
+
+    /**
+     * Como {@link #search(DriverFilter, Pageable, DriverTotalMode)}, lendo do banco apenas
+     * as colunas de {@code fields}. Em memoria as respostas ja estao montadas e o filtro
+     * de campos fica para a serializacao.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Slice<DriverResponse> search(
+            DriverFilter filter,
+            @NonNull Pageable pageable,
+            DriverTotalMode totalMode,
+            Set<DriverField> fields
+    ) {
+        if (totalMode == DriverTotalMode.EXACT) {
+            return searchPage(filter, pageable, fields, () -> count(filter));
+        }
+
+        Timer.Sample sample = driverSearchMetrics.start();
+        Optional<? extends Slice<DriverResponse>> inMemory = totalMode == DriverTotalMode.NONE
+                ? driverSearchEngine.slice(filter, pageable)
+                : driverSearchEngine.page(filter, pageable);
+
+        if (inMemory.isPresent()) {
+            driverSearchMetrics.recordSearch(sample, filter, pageable.getSort(), totalMode.name(),
+                    MEMORY_SOURCE, inMemory.get().getNumberOfElements());
+            return inMemory.get();
+        }
+
+        List<DriverResponse> rows = driverSearchMetrics.timeQuery("page", () -> findResponses(
+                DriverSpecification.matching(filter), pageable.getSort(), pageable.getOffset(),
+                pageable.getPageSize() + 1, fields));
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<DriverResponse> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+
+        Slice<DriverResponse> result;
+        if (totalMode == DriverTotalMode.NONE) {
+            result = new SliceImpl<>(content, pageable, hasNext);
+        } else {
+            long seen = pageable.getOffset() + content.size();
+            long total = hasNext
+                    ? Math.max(driverSearchMetrics.timeQuery("estimate", () -> driverCountEstimator.estimate(filter)),
+                            seen + 1)
+                    : seen;
+            result = new PageImpl<>(content, pageable, total);
+        }
+
+        driverSearchMetrics.recordSearch(sample, filter, pageable.getSort(), totalMode.name(),
+                DATABASE_SOURCE, content.size());
+        return result;
+    }
+
+    /**
+     * Busca por keyset: le {@code size + 1} linhas apos o cursor para saber se
+     * ha proxima pagina, sem OFFSET nem COUNT.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DriverResponse> scroll(
+            DriverFilter filter,
+            String cursor,
+            DriverSortBy sortBy,
+            Sort.Direction direction,
+            int size
+    ) {
+        DriverCursor after = cursor == null || cursor.isBlank() ? null : DriverCursor.decode(cursor);
+
+        if (after != null && (after.sortBy() != sortBy || after.direction() != direction)) {
+            throw new InvalidCursorException("Cursor nao corresponde a ordenacao informada");
+        }
+
+        Timer.Sample sample = driverSearchMetrics.start();
+        Specification<Driver> spec = DriverSpecification.matching(filter)
+                .and(DriverSpecification.after(after));
+        Sort sort = Sort.by(direction, sortBy.getProperty(), "id");
+
+        List<DriverResponse> rows = driverSearchMetrics.timeQuery("page",
+                () -> driverRepository.findResponses(spec, sort, 0, size + 1));
+
+        CursorPage<DriverResponse> result;
+        if (rows.size() <= size) {
+            result = new CursorPage<>(rows, size, null);
+        } else {
+            List<DriverResponse> content = rows.subList(0, size);
+            DriverResponse last = content.get(size - 1);
+            result = new CursorPage<>(content, size, DriverCursor.of(last, sortBy, direction).encode());
+        }
+
+        driverSearchMetrics.recordSearch(sample, filter, sort, "CURSOR", DATABASE_SOURCE, result.content().size());
+        return result;
+    }
+
+    private long count(DriverFilter filter) {
+        return driverSearchMetrics.timeQuery("count",
+                () -> driverRepository.count(DriverSpecification.matching(filter)));
+    }
+
+    private List<DriverResponse> findResponses(
+            Specification<Driver> spec, Sort sort, long offset, int limit, Set<DriverField> fields) {
+
+        if (fields.size() == DriverField.ALL.size()) {
+            return driverRepository.findResponses(spec, sort, offset, limit);
+        }
+
+        return driverRepository.findResponses(spec, sort, offset, limit, fields);
+    }
+
+    private DriverResponse write(UUID id, Long version, DriverChanges changes) {
+        DriverRevision revision = driverWriteRepository.update(id, changes, version)
+                .orElseThrow(() -> writeFailure(id, version));
+        DriverResponse updated = revision.current();
+
+        driverCache.put(updated);
+        driverSearchEngine.upsert(updated);
+        driverGeoIndex.upsert(updated);
+        eventPublisher.publishEvent(new DriverEvent(DriverEvent.Type.UPDATED, updated, revision.previous()));
+        return updated;
+    }
+
+    /**
+     * Nenhuma linha afetada: sem versao so pode ser motorista inexistente ou inativo;
+     * com versao, uma consulta extra (apenas neste caso) separa 404 de 409.
+     */
+    private RuntimeException writeFailure(UUID id, Long version) {
+        if (version != null && driverWriteRepository.existsActive(id)) {
+            return new DriverVersionConflictException(id, version);
+        }
+
+        return new DriverNotFoundException(id);
     }
 
     private void applyRequest(
@@ -83,7 +457,11 @@ public class DriverService {
         driver.setEmail(email);
         driver.setPhone(phone);
         driver.setCity(city);
-        driver.setState(state == null ? null : state.toUpperCase());
-        driver.setVehicleTypes(vehicleTypes == null ? null : vehicleTypes.toArray(new VehicleType[0]));
+        driver.setState(normalizeState(state));
+        driver.setVehicleTypes(vehicleTypes);
+    }
+
+    private static String normalizeState(String state) {
+        return state == null ? null : state.toUpperCase();
     }
 }
@@ -1,22 +1,73 @@
 package com.fretemais.driver.service.driver.specification;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Set;
-import java.util.stream.Stream;
+import java.util.UUID;
 
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
 import com.fretemais.driver.service.driver.domain.Driver;
 import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.domain.VehicleTypes;
+import com.fretemais.driver.service.driver.dto.DriverCursor;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 
 public class DriverSpecification {
 
     private DriverSpecification() {
     }
 
+    /**
+     * Motoristas ativos que atendem a todos os criterios informados no filtro.
+     */
+    public static Specification<Driver> matching(DriverFilter filter) {
+        return Specification
+                .where(isActive())
+                .and(hasText(filter.text()))
+                .and(hasCity(filter.city()))
+                .and(hasState(filter.state()))
+                .and(hasVehicleTypes(filter.vehicleTypes()));
+    }
+
     public static Specification<Driver> isActive() {
         return (root, query, criteriaBuilder) -> criteriaBuilder.isTrue(root.get("isActive"));
     }
 
+    public static Specification<Driver> hasId(UUID id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("id"), id);
+    }
+
+    public static Specification<Driver> hasIds(Collection<UUID> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Alterados ha pelo menos {@code age} pelo relogio do banco ({@code localtimestamp}),
+     * e nao pelo da instancia que monta a consulta.
+     */
+    public static Specification<Driver> updatedAtLeast(Duration age) {
+        return (root, query, criteriaBuilder) -> {
+            HibernateCriteriaBuilder hibernate = (HibernateCriteriaBuilder) criteriaBuilder;
+            return criteriaBuilder.lessThanOrEqualTo(root.get("updatedAt"),
+                    hibernate.subtractDuration(hibernate.localDateTime(), age));
+        };
+    }
+
+    public static Specification<Driver> hasLocation() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isNotNull(root.get("latitude"));
+    }
+
+    /**
+     * Busca por substring no documento normalizado de nome/email/telefone,
+     * servida pelo indice trigram idx_drivers_active_search_document_trgm.
+     */
     public static Specification<Driver> hasText(String text) {
         if (text == null || text.isBlank()) {
             return null;
@@ -24,19 +75,14 @@ public class DriverSpecification {
 
         String like = "%" + text.toLowerCase() + "%";
 
-        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
-                criteriaBuilder.like(
-                        criteriaBuilder.lower(root.get("name")),
-                        like),
-                criteriaBuilder.like(
-                        criteriaBuilder.lower(
-                                criteriaBuilder.coalesce(root.get("email"), "")),
-                        like),
-                criteriaBuilder.like(
-                        criteriaBuilder.lower(
-                                criteriaBuilder.coalesce(root.get("phone"), "")),
-                        like)
-        );
+        return (root, query, criteriaBuilder) -> criteriaBuilder.like(
+                criteriaBuilder.function(
+                        "driver_search_document",
+                        String.class,
+                        root.get("name"),
+                        root.get("email"),
+                        root.get("phone")),
+                like);
     }
 
     public static Specification<Driver> hasCity(String city) {
@@ -59,35 +105,69 @@ public class DriverSpecification {
                 state.toUpperCase());
     }
 
+    /**
+     * Motoristas com ao menos um dos tipos informados: um unico AND bit a bit
+     * sobre {@code vehicle_types_mask}.
+     */
     public static Specification<Driver> hasVehicleTypes(Set<VehicleType> vehicleTypes) {
-        if (vehicleTypes == null || vehicleTypes.isEmpty()) {
+        short mask = VehicleTypes.toMask(vehicleTypes);
+
+        if (mask == 0) {
             return null;
         }
 
-        String[] types = vehicleTypes.stream()
-                .flatMap(DriverSpecification::mapVehicleType)
-                .toArray(String[]::new);
+        return (root, query, criteriaBuilder) -> criteriaBuilder.notEqual(
+                criteriaBuilder.function(
+                        "bitand",
+                        Integer.class,
+                        root.get("vehicleTypesMask"),
+                        criteriaBuilder.literal((int) mask)),
+                0);
+    }
 
-        if (types.length == 0) {
+    /**
+     * Restringe aos registros posteriores ao cursor na ordem (coluna, id).
+     * Nulos seguem a ordem nativa do PostgreSQL: ultimos em ASC, primeiros em DESC.
+     */
+    public static Specification<Driver> after(DriverCursor cursor) {
+        if (cursor == null) {
             return null;
         }
 
-        return (root, query, criteriaBuilder) ->
-                criteriaBuilder.isTrue(
-                        criteriaBuilder.function(
-                                "array_overlap",
-                                Boolean.class,
-                                root.get("vehicleTypes"),
-                                criteriaBuilder.literal(types)
-                        )
-                );
-    }
+        return (root, query, criteriaBuilder) -> {
+            Path<Comparable<Object>> column = root.get(cursor.sortBy().getProperty());
+            boolean ascending = cursor.direction().isAscending();
 
-    private static Stream<String> mapVehicleType(VehicleType type) {
-        if (type == null) {
-            return Stream.empty();
-        }
+            @SuppressWarnings("unchecked")
+            Comparable<Object> value = (Comparable<Object>) cursor.sortValue();
+
+            Predicate idBeyond = beyond(criteriaBuilder, root.get("id"), cursor.id(), ascending);
+
+            if (value == null) {
+                Predicate nullTie = criteriaBuilder.and(criteriaBuilder.isNull(column), idBeyond);
+                return ascending ? nullTie : criteriaBuilder.or(nullTie, criteriaBuilder.isNotNull(column));
+            }
+
+            Predicate keyset = criteriaBuilder.or(
+                    beyond(criteriaBuilder, column, value, ascending),
+                    criteriaBuilder.and(criteriaBuilder.equal(column, value), idBeyond));
+
+            if (ascending && cursor.sortBy().isNullable()) {
+                return criteriaBuilder.or(keyset, criteriaBuilder.isNull(column));
+            }
+
+            return keyset;
+        };
+    }
 
-        return Stream.of(type.name());
+    private static <Y extends Comparable<? super Y>> Predicate beyond(
+            CriteriaBuilder criteriaBuilder,
+            Expression<? extends Y> expression,
+            Y value,
+            boolean ascending
+    ) {
+        return ascending
+                ? criteriaBuilder.greaterThan(expression, value)
+                : criteriaBuilder.lessThan(expression, value);
     }
 }
@@ -0,0 +1,31 @@
+package com.fretemais.driver.service.driver.stream;
+
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+
+/**
+ * Escrita confirmada de um motorista, publicada pelo {@code DriverService} e repassada
+ * aos assinantes de {@code GET /drivers/stream}. Em {@link Type#DELETED} o motorista vem
+ * como ficou gravado, com {@code active = false}. Em {@link Type#UPDATED}, {@code previous}
+ * traz a linha anterior, para o assinante saber se o motorista saiu do seu filtro.
+ */
+public record DriverEvent(
+        Type type,
+        DriverResponse driver,
+        DriverResponse previous
+) {
+
+    public DriverEvent(Type type, DriverResponse driver) {
+        this(type, driver, null);
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        /**
+         * Gerado pelo stream, nunca publicado: a alteracao tirou o motorista do filtro
+         * do assinante.
+         */
+        LEFT
+    }
+}
@@ -0,0 +1,103 @@
+package com.fretemais.driver.service.driver.stream;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Ponto unico de distribuicao das escritas para {@code GET /drivers/stream}. Cada
+ * {@link DriverEvent} e recebido uma vez, apos o commit da transacao que o publicou
+ * (ou na hora, fora de transacao), e repassado a cada assinante cujo filtro aceita o
+ * motorista; o envio pela rede fica com o proprio assinante em uma thread virtual.
+ * Como os eventos vem do {@code DriverService}, cada instancia so transmite as escritas
+ * feitas por ela; para uma visao completa use {@code GET /drivers/changes}.
+ */
+@Component
+public class DriverStreamBroadcaster {
+
+    private final Set<DriverStreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int bufferSize;
+    private final Duration timeout;
+
+    private final Counter coalesced;
+    private final Counter dropped;
+
+    public DriverStreamBroadcaster(
+            MeterRegistry meterRegistry,
+            @Value("${drivers.stream.buffer-size:256}") int bufferSize,
+            @Value("${drivers.stream.timeout:30m}") Duration timeout) {
+
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+
+        this.coalesced = Counter.builder("drivers.stream.coalesced")
+                .description("Eventos substituidos no buffer de um assinante por um mais recente do mesmo motorista")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("drivers.stream.dropped")
+                .description("Eventos descartados por buffer cheio de um assinante lento")
+                .register(meterRegistry);
+
+        Gauge.builder("drivers.stream.subscribers", subscribers, Set::size)
+                .description("Conexoes abertas em /drivers/stream")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(DriverFilter filter) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        DriverStreamSubscriber subscriber = new DriverStreamSubscriber(filter, emitter, bufferSize, executor,
+                coalesced, dropped, this::closed);
+
+        emitter.onCompletion(() -> closed(subscriber));
+        emitter.onTimeout(() -> closed(subscriber));
+        emitter.onError(ex -> closed(subscriber));
+
+        subscribers.add(subscriber);
+        // Envia algo de imediato para o cliente receber os cabecalhos da resposta.
+        subscriber.heartbeat();
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDriverEvent(DriverEvent event) {
+        for (DriverStreamSubscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${drivers.stream.heartbeat-interval:15000}")
+    public void heartbeat() {
+        subscribers.forEach(DriverStreamSubscriber::heartbeat);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (DriverStreamSubscriber subscriber : subscribers) {
+            closed(subscriber);
+            subscriber.emitter().complete();
+        }
+
+        executor.shutdownNow();
+    }
+
+    private void closed(DriverStreamSubscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.close();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.fretemais.driver.service.driver.stream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fretemais.driver.service.driver.domain.VehicleTypes;
+import com.fretemais.driver.service.driver.dto.DriverCursor;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.dto.DriverSortBy;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * Uma conexao de {@code GET /drivers/stream}. Os eventos que passam pelo filtro esperam
+ * em um buffer de no maximo {@code capacity} motoristas: um evento novo de um motorista
+ * que ja esta no buffer substitui o anterior, e com o buffer cheio o mais antigo e
+ * descartado e o cliente recebe um evento {@code overflow} para ressincronizar.
+ * Uma alteracao que tira do filtro um motorista que antes passava vira um evento
+ * {@code left}, para o cliente remover a linha.
+ * O envio roda em uma tarefa propria por assinante, entao um cliente lento so atrasa a
+ * si mesmo; quem publica nunca espera pela rede.
+ */
+final class DriverStreamSubscriber {
+
+    private final String text;
+    private final String city;
+    private final String state;
+    private final short vehicleMask;
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Executor executor;
+    private final Counter coalesced;
+    private final Counter dropped;
+    private final Consumer<DriverStreamSubscriber> onClose;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<UUID, DriverEvent> pending = new LinkedHashMap<>();
+    private long lost;
+    private boolean heartbeat;
+    private boolean draining;
+    private volatile boolean closed;
+
+    DriverStreamSubscriber(DriverFilter filter, SseEmitter emitter, int capacity, Executor executor,
+            Counter coalesced, Counter dropped, Consumer<DriverStreamSubscriber> onClose) {
+        this.text = lower(filter.text());
+        this.city = lower(filter.city());
+        this.state = lower(filter.state());
+        this.vehicleMask = VehicleTypes.toMask(filter.vehicleTypes());
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.executor = executor;
+        this.coalesced = coalesced;
+        this.dropped = dropped;
+        this.onClose = onClose;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    void offer(DriverEvent event) {
+        if (closed) {
+            return;
+        }
+
+        if (!matches(event.driver())) {
+            if (event.type() != DriverEvent.Type.UPDATED || event.previous() == null
+                    || !matches(event.previous())) {
+                return;
+            }
+
+            event = new DriverEvent(DriverEvent.Type.LEFT, event.driver());
+        }
+
+        boolean schedule;
+        lock.lock();
+        try {
+            UUID id = event.driver().id();
+            DriverEvent previous = pending.remove(id);
+
+            if (previous != null) {
+                coalesced.increment();
+                if (previous.type() == DriverEvent.Type.CREATED && event.type() == DriverEvent.Type.UPDATED) {
+                    event = new DriverEvent(DriverEvent.Type.CREATED, event.driver());
+                }
+            } else if (pending.size() >= capacity) {
+                Iterator<DriverEvent> eldest = pending.values().iterator();
+                eldest.next();
+                eldest.remove();
+                lost++;
+                dropped.increment();
+            }
+
+            pending.put(id, event);
+            schedule = scheduleDrain();
+        } finally {
+            lock.unlock();
+        }
+
+        if (schedule) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Comentario SSE enviado quando nao ha eventos, para manter a conexao aberta em proxies.
+     */
+    void heartbeat() {
+        if (closed) {
+            return;
+        }
+
+        boolean schedule;
+        lock.lock();
+        try {
+            heartbeat = true;
+            schedule = scheduleDrain();
+        } finally {
+            lock.unlock();
+        }
+
+        if (schedule) {
+            executor.execute(this::drain);
+        }
+    }
+
+    void close() {
+        closed = true;
+        lock.lock();
+        try {
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean scheduleDrain() {
+        if (draining) {
+            return false;
+        }
+
+        draining = true;
+        return true;
+    }
+
+    private void drain() {
+        while (!closed) {
+            List<DriverEvent> events;
+            long overflow;
+            boolean ping;
+
+            lock.lock();
+            try {
+                if (pending.isEmpty() && lost == 0 && !heartbeat) {
+                    draining = false;
+                    return;
+                }
+
+                events = new ArrayList<>(pending.values());
+                pending.clear();
+                overflow = lost;
+                lost = 0;
+                ping = heartbeat && events.isEmpty() && overflow == 0;
+                heartbeat = false;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                if (overflow > 0) {
+                    emitter.send(SseEmitter.event().name("overflow").data(Map.of("dropped", overflow)));
+                }
+
+                for (DriverEvent event : events) {
+                    emitter.send(SseEmitter.event()
+                            .id(DriverCursor.of(event.driver(), DriverSortBy.UPDATED_AT, Sort.Direction.ASC).encode())
+                            .name(event.type().name().toLowerCase(Locale.ROOT))
+                            .data(event.driver()));
+                }
+
+                if (ping) {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                }
+            } catch (IOException | IllegalStateException ex) {
+                onClose.accept(this);
+                return;
+            }
+        }
+    }
+
+    private boolean matches(DriverResponse driver) {
+        if (state != null && (driver.state() == null || !state.equals(lower(driver.state())))) {
+            return false;
+        }
+
+        if (city != null && (driver.city() == null || !city.equals(lower(driver.city())))) {
+            return false;
+        }
+
+        if (vehicleMask != 0 && (VehicleTypes.toMask(driver.vehicleTypes()) & vehicleMask) == 0) {
+            return false;
+        }
+
+        return text == null || contains(driver.name()) || contains(driver.email()) || contains(driver.phone());
+    }
+
+    private boolean contains(String value) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(text);
+    }
+
+    private static String lower(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,6 @@
+-- Envios de posicao (POST /drivers/{id}/location) gravam apenas latitude, longitude e
+-- location_updated_at. Nenhuma dessas colunas e indexada, entao o UPDATE pode ser HOT;
+-- updated_at (indexado, base de ETags e do feed de alteracoes) fica para o cadastro.
+-- O fillfactor deixa espaco na pagina para as novas versoes das linhas.
+ALTER TABLE drivers ADD COLUMN location_updated_at TIMESTAMP;
+ALTER TABLE drivers SET (fillfactor = 90);
@@ -0,0 +1,15 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Documento normalizado de busca (nome/email/telefone) usado por DriverSpecification.hasText
+CREATE OR REPLACE FUNCTION driver_search_document(text, text, text)
+RETURNS text
+LANGUAGE SQL
+IMMUTABLE
+PARALLEL SAFE
+AS $$
+    SELECT lower(coalesce($1, '') || E'\n' || coalesce($2, '') || E'\n' || coalesce($3, ''));
+$$;
+
+-- Índice trigram para LIKE '%texto%' sobre o documento de busca
+CREATE INDEX idx_drivers_search_document_trgm
+    ON drivers USING GIN (driver_search_document(name, email, phone) gin_trgm_ops);
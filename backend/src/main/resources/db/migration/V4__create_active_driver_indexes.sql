@@ -0,0 +1,30 @@
+-- Todas as consultas filtram is_active (DriverSpecification.isActive), entao os
+-- indices passam a ser parciais: motoristas removidos (soft delete) nao ocupam espaco.
+
+-- Indices que o planner nunca usa: hasCity compara lower(city), a busca textual usa
+-- o indice trigram e nenhuma consulta filtra por phone/name/email diretamente.
+DROP INDEX IF EXISTS idx_drivers_name;
+DROP INDEX IF EXISTS idx_drivers_email;
+DROP INDEX IF EXISTS idx_drivers_phone;
+DROP INDEX IF EXISTS idx_drivers_city;
+DROP INDEX IF EXISTS idx_drivers_state;
+
+-- Filtros de localidade. (state, lower(city)) atende tambem o filtro apenas por estado.
+CREATE INDEX idx_drivers_active_city ON drivers (lower(city)) WHERE is_active;
+CREATE INDEX idx_drivers_active_state_city ON drivers (state, lower(city)) WHERE is_active;
+
+-- Ordenacoes de DriverSortBy com id como desempate (paginacao por keyset)
+CREATE INDEX idx_drivers_active_name_id ON drivers (name, id) WHERE is_active;
+CREATE INDEX idx_drivers_active_email_id ON drivers (email, id) WHERE is_active;
+CREATE INDEX idx_drivers_active_created_at_id ON drivers (created_at, id) WHERE is_active;
+CREATE INDEX idx_drivers_active_updated_at_id ON drivers (updated_at, id) WHERE is_active;
+CREATE INDEX idx_drivers_active_city_id ON drivers (city, id) WHERE is_active;
+CREATE INDEX idx_drivers_active_state_id ON drivers (state, id) WHERE is_active;
+
+-- Indices GIN refeitos como parciais
+DROP INDEX IF EXISTS idx_drivers_vehicle_types;
+CREATE INDEX idx_drivers_active_vehicle_types ON drivers USING GIN (vehicle_types) WHERE is_active;
+
+DROP INDEX IF EXISTS idx_drivers_search_document_trgm;
+CREATE INDEX idx_drivers_active_search_document_trgm
+    ON drivers USING GIN (driver_search_document(name, email, phone) gin_trgm_ops) WHERE is_active;
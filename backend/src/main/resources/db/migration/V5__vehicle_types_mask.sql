@@ -0,0 +1,21 @@
+-- Mascara de bits dos tipos de veiculo (VehicleTypes), mantida pela aplicacao junto
+-- com o array vehicle_types: bit = posicao da constante em VehicleType.
+ALTER TABLE drivers ADD COLUMN vehicle_types_mask SMALLINT NOT NULL DEFAULT 0;
+
+UPDATE drivers
+SET vehicle_types_mask = (
+    SELECT coalesce(sum(DISTINCT 1 << (array_position(
+            ARRAY['VAN', 'TOCO', 'BAU', 'SIDER', 'TRUCK', 'BITRUCK'], type) - 1)), 0)
+    FROM unnest(vehicle_types) AS type
+)::smallint;
+
+-- Filtros passam a usar a mascara; o array nao e mais consultado.
+DROP INDEX IF EXISTS idx_drivers_active_vehicle_types;
+DROP FUNCTION IF EXISTS array_overlap(text[], text[]);
+
+-- O AND bit a bit nao e condicao de indice btree; com a mascara no fim do indice
+-- de localidade o filtro de veiculo e avaliado nas entradas do indice, sem visitar
+-- a tabela.
+DROP INDEX IF EXISTS idx_drivers_active_state_city;
+CREATE INDEX idx_drivers_active_state_city
+    ON drivers (state, lower(city), vehicle_types_mask) WHERE is_active;
@@ -0,0 +1,3 @@
+-- Versao para controle otimista de concorrencia: incrementada a cada escrita e
+-- conferida no WHERE quando o cliente informa a versao que editou.
+ALTER TABLE drivers ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,9 @@
+-- Posicao do motorista (WGS 84). Opcional, mas latitude e longitude andam juntas.
+-- A busca por proximidade usa o indice em memoria (DriverGeoIndex), nao o banco.
+ALTER TABLE drivers ADD COLUMN latitude DOUBLE PRECISION;
+ALTER TABLE drivers ADD COLUMN longitude DOUBLE PRECISION;
+
+ALTER TABLE drivers ADD CONSTRAINT ck_drivers_location CHECK (
+    (latitude IS NULL AND longitude IS NULL)
+    OR (latitude BETWEEN -90 AND 90 AND longitude BETWEEN -180 AND 180)
+);
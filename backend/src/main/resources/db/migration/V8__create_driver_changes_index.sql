@@ -0,0 +1,5 @@
+-- Feed de alteracoes (GET /drivers/changes): percorre motoristas ativos e removidos em
+-- ordem de (updated_at, id). O indice parcial de ativos nao enxerga os removidos, entao
+-- e substituido por um completo, que continua atendendo a ordenacao por updated_at da busca.
+DROP INDEX IF EXISTS idx_drivers_active_updated_at_id;
+CREATE INDEX idx_drivers_updated_at_id ON drivers (updated_at, id);
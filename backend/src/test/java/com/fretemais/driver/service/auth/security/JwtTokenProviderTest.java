@@ -0,0 +1,54 @@
+package com.fretemais.driver.service.auth.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.fretemais.driver.service.auth.domain.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-test-secret-key-test-secret-key";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(SECRET, 3600000L, 100L, meterRegistry);
+
+    @Test
+    void resolve_subject_returns_email_for_valid_token() {
+        String token = jwtTokenProvider.generateToken(user("admin@fretemais.com"));
+
+        assertEquals(Optional.of("admin@fretemais.com"), jwtTokenProvider.resolveSubject(token));
+        assertEquals(Optional.of("admin@fretemais.com"), jwtTokenProvider.resolveSubject(token));
+        assertEquals(1, meterRegistry.get("auth.jwt.validation").tag("outcome", "verified").timer().count());
+        assertEquals(1, meterRegistry.get("auth.jwt.validation").tag("outcome", "cached").timer().count());
+    }
+
+    @Test
+    void resolve_subject_rejects_token_signed_with_another_key() {
+        JwtTokenProvider other = new JwtTokenProvider(SECRET.toUpperCase(), 3600000L, 100L, new SimpleMeterRegistry());
+        String token = other.generateToken(user("admin@fretemais.com"));
+
+        assertTrue(jwtTokenProvider.resolveSubject(token).isEmpty());
+        assertEquals(1, meterRegistry.get("auth.jwt.validation").tag("outcome", "invalid").timer().count());
+    }
+
+    @Test
+    void resolve_subject_rejects_expired_token() {
+        JwtTokenProvider expired = new JwtTokenProvider(SECRET, -1000L, 100L, new SimpleMeterRegistry());
+        String token = expired.generateToken(user("admin@fretemais.com"));
+
+        assertTrue(jwtTokenProvider.resolveSubject(token).isEmpty());
+    }
+
+    private static User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -9,21 +9,26 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
+import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.fretemais.driver.service.auth.domain.User;
 import com.fretemais.driver.service.auth.dto.LoginRequest;
 import com.fretemais.driver.service.auth.dto.LoginResponse;
+import com.fretemais.driver.service.auth.dto.RefreshTokenRequest;
 import com.fretemais.driver.service.auth.exception.UnauthorizedException;
 import com.fretemais.driver.service.auth.repository.UserRepository;
 import com.fretemais.driver.service.auth.security.JwtTokenProvider;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
 
@@ -36,6 +41,12 @@ class AuthServiceTest {
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private AuthService authService;
 
@@ -56,11 +67,15 @@ class AuthServiceTest {
                 .thenReturn("token-123");
         when(jwtTokenProvider.getExpirationInMillis())
                 .thenReturn(3600000L);
+        when(refreshTokenService.issue(user))
+                .thenReturn("refresh-123");
 
         LoginResponse response = authService.login(request);
 
         assertEquals("token-123", response.token());
         assertEquals("3600000", response.expiresAt());
+        assertEquals("refresh-123", response.refreshToken());
+        assertEquals(1, meterRegistry.get("auth.login").tag("outcome", "success").timer().count());
     }
 
     @Test
@@ -107,5 +122,56 @@ class AuthServiceTest {
 
         assertThrows(UnauthorizedException.class, () -> authService.login(request));
         verify(jwtTokenProvider, never()).generateToken(any());
+        assertEquals(1, meterRegistry.get("auth.login").tag("outcome", "bad_password").timer().count());
+    }
+
+    @Test
+    void refresh_issues_tokens_without_checking_password() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("admin@fretemais.com");
+        user.setActive(true);
+
+        when(refreshTokenService.rotate("refresh-123"))
+                .thenReturn(new RefreshTokenService.Rotation(user.getId(), "refresh-456"));
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+        when(jwtTokenProvider.generateToken(user))
+                .thenReturn("token-456");
+        when(jwtTokenProvider.getExpirationInMillis())
+                .thenReturn(3600000L);
+
+        LoginResponse response = authService.refresh(new RefreshTokenRequest("refresh-123"));
+
+        assertEquals("token-456", response.token());
+        assertEquals("refresh-456", response.refreshToken());
+        verify(passwordEncoder, never()).matches(any(), any());
+        assertEquals(1, meterRegistry.get("auth.refresh").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void refresh_with_invalid_token_throws_unauthorized() {
+        when(refreshTokenService.rotate("stolen"))
+                .thenThrow(new UnauthorizedException("Refresh token inválido"));
+
+        assertThrows(UnauthorizedException.class, () -> authService.refresh(new RefreshTokenRequest("stolen")));
+        verify(jwtTokenProvider, never()).generateToken(any());
+        assertEquals(1, meterRegistry.get("auth.refresh").tag("outcome", "invalid").timer().count());
+    }
+
+    @Test
+    void refresh_for_inactive_user_revokes_new_token() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setActive(false);
+
+        when(refreshTokenService.rotate("refresh-123"))
+                .thenReturn(new RefreshTokenService.Rotation(user.getId(), "refresh-456"));
+        when(userRepository.findById(user.getId()))
+                .thenReturn(Optional.of(user));
+
+        assertThrows(UnauthorizedException.class, () -> authService.refresh(new RefreshTokenRequest("refresh-123")));
+        verify(refreshTokenService).revoke("refresh-456");
+        verify(jwtTokenProvider, never()).generateToken(any());
     }
 }
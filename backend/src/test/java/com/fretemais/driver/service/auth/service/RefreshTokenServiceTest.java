@@ -0,0 +1,117 @@
+package com.fretemais.driver.service.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fretemais.driver.service.auth.domain.RefreshToken;
+import com.fretemais.driver.service.auth.domain.User;
+import com.fretemais.driver.service.auth.exception.UnauthorizedException;
+import com.fretemais.driver.service.auth.repository.RefreshTokenRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, Duration.ofDays(30));
+    }
+
+    @Test
+    void issue_stores_only_the_token_hash() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+
+        String token = refreshTokenService.issue(user);
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertEquals(RefreshTokenService.hash(token), captor.getValue().getTokenHash());
+        assertEquals(64, captor.getValue().getTokenHash().length());
+        assertNotEquals(token, captor.getValue().getTokenHash());
+        assertEquals(user.getId(), captor.getValue().getUserId());
+    }
+
+    @Test
+    void rotate_revokes_used_token_and_issues_next_in_same_family() {
+        RefreshToken current = stored("refresh-123", LocalDateTime.now().plusDays(1), null);
+
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("refresh-123")))
+                .thenReturn(Optional.of(current));
+        when(refreshTokenRepository.revoke(eq(current.getId()), any())).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("refresh-123");
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertEquals(current.getUserId(), rotation.userId());
+        assertEquals(current.getFamilyId(), captor.getValue().getFamilyId());
+        assertEquals(RefreshTokenService.hash(rotation.refreshToken()), captor.getValue().getTokenHash());
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    void rotate_with_revoked_token_revokes_whole_family() {
+        RefreshToken current = stored("refresh-123", LocalDateTime.now().plusDays(1), LocalDateTime.now());
+
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("refresh-123")))
+                .thenReturn(Optional.of(current));
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("refresh-123"));
+        verify(refreshTokenRepository).revokeFamily(eq(current.getFamilyId()), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_with_expired_token_throws_unauthorized() {
+        RefreshToken current = stored("refresh-123", LocalDateTime.now().minusMinutes(1), null);
+
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("refresh-123")))
+                .thenReturn(Optional.of(current));
+        when(refreshTokenRepository.revoke(eq(current.getId()), any())).thenReturn(1);
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("refresh-123"));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_with_unknown_token_throws_unauthorized() {
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("unknown"));
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(" "));
+    }
+
+    private static RefreshToken stored(String token, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setId(UUID.randomUUID());
+        refreshToken.setUserId(UUID.randomUUID());
+        refreshToken.setFamilyId(UUID.randomUUID());
+        refreshToken.setTokenHash(RefreshTokenService.hash(token));
+        refreshToken.setExpiresAt(expiresAt);
+        refreshToken.setRevokedAt(revokedAt);
+        return refreshToken;
+    }
+}
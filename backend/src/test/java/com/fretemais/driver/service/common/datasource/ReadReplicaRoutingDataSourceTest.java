@@ -0,0 +1,52 @@
+package com.fretemais.driver.service.common.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fretemais.driver.service.common.datasource.ReadReplicaRoutingDataSource.Target;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final ReadReplicaRoutingDataSource dataSource =
+            new ReadReplicaRoutingDataSource(new SimpleDriverDataSource(), new SimpleDriverDataSource());
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        DataSourceRouting.clear();
+    }
+
+    @Test
+    void read_only_transactions_go_to_replica_and_others_to_primary() {
+        assertEquals(Target.PRIMARY, dataSource.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(Target.REPLICA, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void forced_primary_overrides_read_only_transaction() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        DataSourceRouting.forcePrimary();
+
+        assertEquals(Target.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void on_primary_routes_read_only_work_to_primary_and_restores_state() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(Target.PRIMARY, DataSourceRouting.onPrimary(dataSource::determineCurrentLookupKey));
+        assertFalse(DataSourceRouting.isPrimaryForced());
+
+        DataSourceRouting.forcePrimary();
+        DataSourceRouting.onPrimary(() -> null);
+        assertTrue(DataSourceRouting.isPrimaryForced());
+    }
+}
@@ -0,0 +1,106 @@
+package com.fretemais.driver.service.common.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fretemais.driver.service.common.datasource.DataSourceRouting;
+import com.fretemais.driver.service.driver.controller.DriverController;
+import com.fretemais.driver.service.driver.service.DriverChangeFeedService;
+import com.fretemais.driver.service.driver.service.DriverExportService;
+import com.fretemais.driver.service.driver.service.DriverFacetService;
+import com.fretemais.driver.service.driver.service.DriverImportService;
+import com.fretemais.driver.service.driver.service.DriverLocationService;
+import com.fretemais.driver.service.driver.service.DriverService;
+import com.fretemais.driver.service.driver.stream.DriverStreamBroadcaster;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@code GET /drivers/stream} passa pelos interceptors de {@code /drivers/**}; a conexao
+ * SSE aberta nao pode segurar permissao do limite nem deixar o roteamento na thread.
+ */
+class ConcurrencyLimitInterceptorAsyncTest {
+
+    private static final UsernamePasswordAuthenticationToken USER =
+            new UsernamePasswordAuthenticationToken("admin@fretemais.com", null);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitInterceptor limiter =
+            new ConcurrencyLimitInterceptor(2, Duration.ofMillis(10), meterRegistry);
+    private final ReadYourWritesInterceptor readYourWrites = new ReadYourWritesInterceptor(Duration.ofMinutes(1));
+    private final DriverStreamBroadcaster broadcaster =
+            new DriverStreamBroadcaster(meterRegistry, 16, Duration.ofMinutes(1));
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        DriverController controller = new DriverController(
+                mock(DriverService.class),
+                mock(DriverImportService.class),
+                mock(DriverExportService.class),
+                mock(DriverFacetService.class),
+                mock(DriverChangeFeedService.class),
+                mock(DriverLocationService.class),
+                broadcaster);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addInterceptors(limiter, readYourWrites)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataSourceRouting.clear();
+    }
+
+    @Test
+    void stream_releases_permit_while_open_and_after_close() throws Exception {
+        MockHttpServletRequest write = new MockHttpServletRequest("PUT", "/drivers/1");
+        write.setUserPrincipal(USER);
+        readYourWrites.preHandle(write, new MockHttpServletResponse(), null);
+        readYourWrites.afterCompletion(write, new MockHttpServletResponse(), null, null);
+
+        // Mais conexoes que o limite (2): so abrem se nenhuma segurar permissao.
+        List<MvcResult> streams = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            streams.add(mockMvc.perform(get("/drivers/stream").principal(USER))
+                    .andExpect(request().asyncStarted())
+                    .andReturn());
+
+            assertEquals(0.0, inFlight());
+            assertFalse(DataSourceRouting.isPrimaryForced());
+        }
+
+        broadcaster.shutdown();
+        for (MvcResult stream : streams) {
+            mockMvc.perform(asyncDispatch(stream)).andExpect(status().isOk());
+        }
+
+        assertEquals(0.0, inFlight());
+        assertFalse(DataSourceRouting.isPrimaryForced());
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("http.concurrency.in-flight").gauge().value();
+    }
+}
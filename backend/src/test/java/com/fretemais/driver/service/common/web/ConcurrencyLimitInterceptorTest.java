@@ -0,0 +1,99 @@
+package com.fretemais.driver.service.common.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fretemais.driver.service.common.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ConcurrencyLimitInterceptor interceptor =
+            new ConcurrencyLimitInterceptor(1, Duration.ofMillis(10), meterRegistry);
+
+    @Test
+    void request_without_connection_takes_no_permit() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+
+        assertEquals(0.0, inFlight());
+        interceptor.afterCompletion(request, response, null, null);
+        assertEquals(0.0, inFlight());
+    }
+
+    @Test
+    void first_connection_takes_one_permit_until_completion() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        interceptor.acquire();
+        interceptor.acquire();
+
+        assertEquals(1.0, inFlight());
+        interceptor.afterCompletion(request, response, null, null);
+        assertEquals(0.0, inFlight());
+    }
+
+    @Test
+    void rejects_request_above_limit_and_admits_after_release() throws Exception {
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        MockHttpServletRequest second = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(first, response, null);
+        interceptor.acquire();
+
+        interceptor.preHandle(second, response, null);
+        assertThrows(ServiceBusyException.class, interceptor::acquire);
+        assertEquals(1, meterRegistry.get("http.concurrency.rejected").counter().count());
+
+        interceptor.afterCompletion(first, response, null, null);
+        interceptor.acquire();
+
+        assertEquals(1.0, inFlight());
+    }
+
+    @Test
+    void does_not_release_permit_that_was_never_acquired() throws Exception {
+        MockHttpServletRequest admitted = new MockHttpServletRequest();
+        MockHttpServletRequest rejected = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(admitted, response, null);
+        interceptor.acquire();
+        interceptor.preHandle(rejected, response, null);
+        assertThrows(ServiceBusyException.class, interceptor::acquire);
+        interceptor.afterCompletion(rejected, response, null, null);
+
+        assertEquals(1.0, inFlight());
+    }
+
+    @Test
+    void connection_outside_request_is_not_limited() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        interceptor.acquire();
+        interceptor.afterCompletion(request, response, null, null);
+
+        interceptor.acquire();
+        assertEquals(0.0, inFlight());
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("http.concurrency.in-flight").gauge().value();
+    }
+}
@@ -0,0 +1,58 @@
+package com.fretemais.driver.service.common.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fretemais.driver.service.common.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitInterceptor limiter =
+            new ConcurrencyLimitInterceptor(1, Duration.ofMillis(10), meterRegistry);
+
+    @Mock
+    private DataSource target;
+
+    @Test
+    void connection_inside_request_takes_permit() throws Exception {
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, () -> limiter);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        limiter.preHandle(request, new MockHttpServletResponse(), null);
+
+        dataSource.getConnection();
+
+        verify(target).getConnection();
+        assertEquals(1.0, meterRegistry.get("http.concurrency.in-flight").gauge().value());
+        limiter.afterCompletion(request, new MockHttpServletResponse(), null, null);
+    }
+
+    @Test
+    void busy_limit_does_not_reach_the_pool() throws Exception {
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, () -> limiter);
+        limiter.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), null);
+        limiter.acquire();
+        MockHttpServletRequest second = new MockHttpServletRequest();
+        limiter.preHandle(second, new MockHttpServletResponse(), null);
+
+        assertThrows(ServiceBusyException.class, dataSource::getConnection);
+        verify(target, never()).getConnection();
+        limiter.afterCompletion(second, new MockHttpServletResponse(), null, null);
+    }
+}
@@ -0,0 +1,61 @@
+package com.fretemais.driver.service.common.web;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import com.fretemais.driver.service.common.datasource.DataSourceRouting;
+
+class ReadYourWritesInterceptorTest {
+
+    private final ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(Duration.ofMinutes(1));
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        DataSourceRouting.clear();
+    }
+
+    @Test
+    void reads_after_own_write_are_forced_to_primary() throws Exception {
+        MockHttpServletRequest write = request("PUT", "admin@fretemais.com");
+        interceptor.preHandle(write, response, null);
+        assertTrue(DataSourceRouting.isPrimaryForced());
+        interceptor.afterCompletion(write, response, null, null);
+        assertFalse(DataSourceRouting.isPrimaryForced());
+
+        MockHttpServletRequest read = request("GET", "admin@fretemais.com");
+        interceptor.preHandle(read, response, null);
+        assertTrue(DataSourceRouting.isPrimaryForced());
+        interceptor.afterCompletion(read, response, null, null);
+    }
+
+    @Test
+    void reads_from_other_clients_keep_replica() throws Exception {
+        MockHttpServletRequest write = request("POST", "admin@fretemais.com");
+        interceptor.preHandle(write, response, null);
+        interceptor.afterCompletion(write, response, null, null);
+
+        interceptor.preHandle(request("GET", "outro@fretemais.com"), response, null);
+        assertFalse(DataSourceRouting.isPrimaryForced());
+
+        interceptor.preHandle(request("GET", null), response, null);
+        assertFalse(DataSourceRouting.isPrimaryForced());
+    }
+
+    private static MockHttpServletRequest request(String method, String user) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/drivers");
+        if (user != null) {
+            request.setUserPrincipal(new UsernamePasswordAuthenticationToken(user, null));
+        }
+        return request;
+    }
+}
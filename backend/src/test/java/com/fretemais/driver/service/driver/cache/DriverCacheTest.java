@@ -0,0 +1,94 @@
+package com.fretemais.driver.service.driver.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fretemais.driver.service.common.datasource.DataSourceRouting;
+import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+
+class DriverCacheTest {
+
+    private final DriverCache cache = new DriverCache(new CaffeineCacheManager(DriverCache.NAME),
+            Duration.ofSeconds(30), false);
+
+    private final UUID id = UUID.randomUUID();
+
+    @Test
+    void put_never_replaces_a_newer_version() {
+        cache.put(driver(2, true, "Maria"));
+        cache.put(driver(1, true, "Maria antiga"));
+
+        assertEquals("Maria", cache.get(id).orElseThrow().name());
+
+        cache.put(driver(3, true, "Maria nova"));
+        assertEquals("Maria nova", cache.get(id).orElseThrow().name());
+    }
+
+    @Test
+    void read_that_finishes_after_delete_does_not_bring_the_driver_back() {
+        cache.put(driver(1, true, "Maria"));
+        cache.put(driver(2, false, "Maria"));
+
+        cache.put(driver(1, true, "Maria"));
+
+        assertEquals(Optional.empty(), cache.get(id));
+    }
+
+    @Test
+    void location_update_only_touches_drivers_still_cached() {
+        cache.updateLocation(id, -23.5, -46.6, 1);
+        assertEquals(Optional.empty(), cache.get(id));
+
+        cache.put(driver(1, true, "Maria"));
+        cache.updateLocation(id, -23.5, -46.6, 1);
+        assertEquals(-23.5, cache.get(id).orElseThrow().latitude());
+
+        cache.put(driver(2, false, "Maria"));
+        cache.updateLocation(id, -23.6, -46.7, 1);
+        assertEquals(Optional.empty(), cache.get(id));
+    }
+
+    @Test
+    void reads_from_the_replica_do_not_fill_the_cache() {
+        DriverCache routed = new DriverCache(new CaffeineCacheManager(DriverCache.NAME), Duration.ofSeconds(30),
+                true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            routed.fill(driver(1, true, "Maria"));
+            assertEquals(Optional.empty(), routed.get(id));
+
+            DataSourceRouting.forcePrimary();
+            routed.fill(driver(1, true, "Maria"));
+            assertEquals("Maria", routed.get(id).orElseThrow().name());
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            DataSourceRouting.clear();
+        }
+    }
+
+    @Test
+    void cache_type_none_stores_nothing() {
+        DriverCache disabled = new DriverCache(new NoOpCacheManager(), Duration.ofSeconds(30), false);
+
+        disabled.put(driver(1, true, "Maria"));
+
+        assertEquals(Optional.empty(), disabled.get(id));
+    }
+
+    private DriverResponse driver(long version, boolean active, String name) {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        return new DriverResponse(id, name, null, null, "Sao Paulo", "SP", Set.of(VehicleType.VAN), active,
+                now, now.plusSeconds(version), version, null, null);
+    }
+}
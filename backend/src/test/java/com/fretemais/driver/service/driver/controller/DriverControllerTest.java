@@ -0,0 +1,153 @@
+package com.fretemais.driver.service.driver.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.MethodValidationInterceptor;
+
+import com.fretemais.driver.service.common.api.GlobalExceptionHandler;
+import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.dto.DriverField;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.dto.DriverTotalMode;
+import com.fretemais.driver.service.driver.dto.DriverVersion;
+import com.fretemais.driver.service.driver.service.DriverChangeFeedService;
+import com.fretemais.driver.service.driver.service.DriverExportService;
+import com.fretemais.driver.service.driver.service.DriverFacetService;
+import com.fretemais.driver.service.driver.service.DriverImportService;
+import com.fretemais.driver.service.driver.service.DriverLocationService;
+import com.fretemais.driver.service.driver.service.DriverService;
+import com.fretemais.driver.service.driver.stream.DriverStreamBroadcaster;
+
+@ExtendWith(MockitoExtension.class)
+class DriverControllerTest {
+
+    @Mock
+    private DriverService driverService;
+
+    @Mock
+    private DriverImportService driverImportService;
+
+    @Mock
+    private DriverExportService driverExportService;
+
+    @Mock
+    private DriverFacetService driverFacetService;
+
+    @Mock
+    private DriverChangeFeedService driverChangeFeedService;
+
+    @Mock
+    private DriverLocationService driverLocationService;
+
+    @Mock
+    private DriverStreamBroadcaster driverStreamBroadcaster;
+
+    @InjectMocks
+    private DriverController driverController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(driverController).build();
+    }
+
+    @Test
+    void search_without_exact_total_runs_no_aggregate_query() throws Exception {
+        when(driverService.search(any(), any(), eq(DriverTotalMode.NONE), eq(DriverField.ALL)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
+
+        mockMvc.perform(get("/drivers").param("totalMode", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+
+        verify(driverService, never()).findVersion(any());
+    }
+
+    @Test
+    void search_with_exact_total_answers_not_modified_without_searching() throws Exception {
+        when(driverService.findVersion(any())).thenReturn(new DriverVersion(3, LocalDateTime.of(2026, 1, 1, 12, 0), 0));
+        when(driverService.search(any(), any(), eq(DriverField.ALL), eq(3L)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 10), 3));
+
+        String eTag = mockMvc.perform(get("/drivers"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/drivers").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        verify(driverService).search(any(), any(), eq(DriverField.ALL), eq(3L));
+        verify(driverService, never()).search(any(), any(), any(DriverTotalMode.class), any());
+    }
+
+    @Test
+    void find_by_id_etag_changes_when_only_the_position_changes() throws Exception {
+        UUID id = UUID.randomUUID();
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+        DriverResponse driver = new DriverResponse(id, "Maria", null, null, "Sao Paulo", "SP",
+                Set.of(VehicleType.VAN), true, updatedAt, updatedAt, 0L, -23.5, -46.6);
+
+        when(driverService.findById(id)).thenReturn(driver);
+        when(driverService.findETagFields(id)).thenReturn(driver, driver.withLocation(-23.6, -46.7));
+
+        String eTag = mockMvc.perform(get("/drivers/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mockMvc.perform(get("/drivers/{id}", id).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/drivers/{id}", id).header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void scroll_rejects_sizes_above_the_page_limit_but_offset_search_does_not() throws Exception {
+        // @Validated vale pelo proxy de validacao de metodo, como no contexto da aplicacao.
+        ProxyFactory proxy = new ProxyFactory(driverController);
+        proxy.setProxyTargetClass(true);
+        proxy.addAdvice(new MethodValidationInterceptor());
+        MockMvc validated = MockMvcBuilders.standaloneSetup(proxy.getProxy())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        when(driverService.search(any(), any(), eq(DriverTotalMode.NONE), eq(DriverField.ALL)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 1000), false));
+
+        validated.perform(get("/drivers").param("totalMode", "NONE").param("size", "1000"))
+                .andExpect(status().isOk());
+        validated.perform(get("/drivers").param("cursor", "").param("size", "101"))
+                .andExpect(status().isBadRequest());
+
+        verify(driverService, never()).scroll(any(), any(), any(), any(), anyInt());
+    }
+}
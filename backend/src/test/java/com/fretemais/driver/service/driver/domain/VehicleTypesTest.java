@@ -0,0 +1,35 @@
+package com.fretemais.driver.service.driver.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class VehicleTypesTest {
+
+    @Test
+    void mask_round_trips_every_combination() {
+        for (int mask = 0; mask < 1 << VehicleType.values().length; mask++) {
+            assertEquals(mask, VehicleTypes.toMask(VehicleTypes.fromMask(mask)));
+        }
+    }
+
+    @Test
+    void bits_follow_enum_order() {
+        assertEquals(1, VehicleTypes.toMask(Set.of(VehicleType.VAN)));
+        assertEquals(4 | 16, VehicleTypes.toMask(EnumSet.of(VehicleType.BAU, VehicleType.TRUCK)));
+        assertEquals(0, VehicleTypes.toMask(Arrays.asList(null, null)));
+    }
+
+    @Test
+    void from_mask_returns_shared_immutable_sets() {
+        assertSame(VehicleTypes.fromMask(5), VehicleTypes.fromMask(5));
+        assertThrows(UnsupportedOperationException.class, () -> VehicleTypes.fromMask(5).add(VehicleType.SIDER));
+        assertThrows(IllegalArgumentException.class, () -> VehicleTypes.fromMask(64));
+    }
+}
@@ -0,0 +1,47 @@
+package com.fretemais.driver.service.driver.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fretemais.driver.service.driver.domain.VehicleType;
+
+class DriverViewTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void serializes_only_selected_fields_in_compact_envelope() throws Exception {
+        UUID id = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        LocalDateTime now = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+        DriverResponse driver = new DriverResponse(id, "Maria", "maria@fretemais.com", null, "Sao Paulo", "SP",
+                Set.of(VehicleType.VAN), true, now, now, 3L, null, null);
+        Set<DriverField> fields = DriverField.select(
+                List.of(DriverField.fromName("vehicleTypes"), DriverField.fromName("name")));
+
+        CompactPage<DriverView> page = CompactPage.of(
+                new SliceImpl<>(List.of(new DriverView(driver, fields)), PageRequest.of(2, 1), true));
+
+        assertEquals("{\"content\":[{\"id\":\"00000000-0000-0000-0000-000000000001\",\"name\":\"Maria\","
+                        + "\"vehicleTypes\":[\"VAN\"]}],\"page\":2,\"size\":1,\"hasNext\":true}",
+                objectMapper.writeValueAsString(page));
+    }
+
+    @Test
+    void rejects_unknown_field() {
+        assertThrows(IllegalArgumentException.class, () -> DriverField.fromName("password"));
+    }
+}
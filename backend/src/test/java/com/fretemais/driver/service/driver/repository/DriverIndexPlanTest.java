@@ -0,0 +1,155 @@
+package com.fretemais.driver.service.driver.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fretemais.driver.service.driver.dto.DriverSortBy;
+
+/**
+ * Verifica se os filtros e ordenacoes comuns da busca sao atendidos pelos indices
+ * parciais de V4. Os predicados reproduzem o SQL gerado por DriverSpecification.
+ * Seq scan e desabilitado para que o teste dependa apenas de o indice ser utilizavel,
+ * e nao do volume de dados. Requer Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class DriverIndexPlanTest {
+
+    private static final Pattern INDEX = Pattern.compile("\\b(?:using|on) (idx_\\w+)");
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        dataSource = new SingleConnectionDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword(), true);
+
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("""
+                INSERT INTO drivers (id, name, email, phone, city, state, vehicle_types, vehicle_types_mask, is_active)
+                SELECT gen_random_uuid(),
+                       'Motorista ' || i,
+                       'motorista' || i || '@fretemais.com',
+                       '1199' || lpad(i::text, 7, '0'),
+                       (ARRAY['Sao Paulo', 'Campinas', 'Curitiba', 'Recife'])[1 + i % 4],
+                       (ARRAY['SP', 'SP', 'PR', 'PE'])[1 + i % 4],
+                       ARRAY[(ARRAY['VAN', 'TOCO', 'BAU', 'SIDER', 'TRUCK', 'BITRUCK'])[1 + i % 6]],
+                       (1 << (i % 6))::smallint,
+                       i % 5 <> 0
+                FROM generate_series(1, 20000) AS i
+                """);
+        jdbcTemplate.execute("ANALYZE drivers");
+        jdbcTemplate.execute("SET enable_seqscan = off");
+    }
+
+    @AfterAll
+    static void close() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void city_filter_uses_lower_city_index() {
+        assertPlanUses("idx_drivers_active_city",
+                "SELECT id FROM drivers WHERE is_active AND lower(city) = 'campinas'");
+    }
+
+    @Test
+    void state_filter_uses_an_index_led_by_state() {
+        // Nao ha indice so de state: (state, lower(city), mascara) e (state, id) atendem o
+        // filtro e o planner escolhe entre eles pelo custo.
+        assertPlanUsesOneOf(Set.of("idx_drivers_active_state_city", "idx_drivers_active_state_id"),
+                "SELECT id FROM drivers WHERE is_active AND state = 'PR'");
+    }
+
+    @Test
+    void state_and_city_filter_uses_composite_index() {
+        assertPlanUses("idx_drivers_active_state_city",
+                "SELECT id FROM drivers WHERE is_active AND state = 'SP' AND lower(city) = 'campinas'");
+    }
+
+    @Test
+    void text_filter_uses_trigram_index() {
+        assertPlanUses("idx_drivers_active_search_document_trgm",
+                "SELECT id FROM drivers WHERE is_active"
+                        + " AND driver_search_document(name, email, phone) LIKE '%motorista12%'");
+    }
+
+    @Test
+    void locality_and_vehicle_type_filter_is_answered_by_composite_index() {
+        assertPlanUses("idx_drivers_active_state_city",
+                "SELECT id FROM drivers WHERE is_active AND state = 'SP'"
+                        + " AND lower(city) = 'campinas' AND (vehicle_types_mask & 5) <> 0");
+    }
+
+    @ParameterizedTest
+    @EnumSource(DriverSortBy.class)
+    void sort_uses_column_and_id_index(DriverSortBy sortBy) {
+        String column = column(sortBy);
+        String index = "idx_drivers_active_" + column + "_id";
+
+        assertPlanUses(index,
+                "SELECT id FROM drivers WHERE is_active ORDER BY " + column + ", id LIMIT 21");
+        assertPlanUses(index,
+                "SELECT id FROM drivers WHERE is_active ORDER BY " + column + " DESC, id DESC LIMIT 21");
+    }
+
+    @Test
+    void keyset_page_uses_sort_index() {
+        assertPlanUses("idx_drivers_active_name_id", """
+                SELECT id FROM drivers
+                WHERE is_active
+                  AND (name > 'Motorista 5' OR (name = 'Motorista 5' AND id > '00000000-0000-0000-0000-000000000000'))
+                ORDER BY name, id
+                LIMIT 21
+                """);
+    }
+
+    private static void assertPlanUses(String index, String sql) {
+        assertPlanUsesOneOf(Set.of(index), sql);
+    }
+
+    /**
+     * Compara o nome exato dos indices do plano, para que um prefixo como
+     * {@code idx_drivers_active_state} nao aceite {@code idx_drivers_active_state_city}.
+     */
+    private static void assertPlanUsesOneOf(Set<String> indexes, String sql) {
+        String plan = plan(sql);
+        Set<String> used = new TreeSet<>();
+        Matcher matcher = INDEX.matcher(plan);
+        while (matcher.find()) {
+            used.add(matcher.group(1));
+        }
+
+        assertTrue(used.stream().anyMatch(indexes::contains),
+                () -> "Esperado um de " + indexes + ", usados " + used + " em:\n" + plan);
+    }
+
+    private static String plan(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+
+    private static String column(DriverSortBy sortBy) {
+        return sortBy.getProperty().replaceAll("([A-Z])", "_$1").toLowerCase();
+    }
+}
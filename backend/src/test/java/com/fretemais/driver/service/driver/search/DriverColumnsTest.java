@@ -0,0 +1,166 @@
+package com.fretemais.driver.service.driver.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.dto.DriverSortBy;
+import com.fretemais.driver.service.driver.dto.DriverVersion;
+
+class DriverColumnsTest {
+
+    private static final DriverFilter NO_FILTER = new DriverFilter(null, null, null, null);
+
+    private final DriverResponse ana = driver("Ana", "ana@fretemais.com", "Sao Paulo", "SP", VehicleType.VAN, 1);
+    private final DriverResponse bruno = driver("Bruno", null, "Campinas", "SP", VehicleType.TRUCK, 2);
+    private final DriverResponse carla = driver("Carla", "carla@fretemais.com", "Curitiba", "PR", VehicleType.BAU, 3);
+
+    private final DriverColumns columns = DriverColumns.of(List.of(carla, ana, bruno));
+
+    @Test
+    void filters_by_city_state_vehicle_type_and_text() {
+        assertEquals(List.of(bruno), names(new DriverFilter(null, "CAMPINAS", "sp", null)));
+        assertEquals(List.of(ana, carla), names(new DriverFilter(null, null, null,
+                Set.of(VehicleType.VAN, VehicleType.BAU))));
+        assertEquals(List.of(carla), names(new DriverFilter("CARLA@", null, null, null)));
+        assertEquals(List.of(), names(new DriverFilter(null, "Recife", null, null)));
+    }
+
+    @Test
+    void orders_by_date_and_leaves_text_sorts_to_the_database() {
+        assertEquals(List.of(ana, bruno, carla), search(NO_FILTER, DriverSortBy.UPDATED_AT, true, 0, 10).content());
+        assertEquals(List.of(carla, bruno, ana), search(NO_FILTER, DriverSortBy.CREATED_AT, false, 0, 10).content());
+        assertTrue(DriverColumns.supports(DriverSortBy.CREATED_AT));
+        assertFalse(DriverColumns.supports(DriverSortBy.NAME));
+        assertFalse(DriverColumns.supports(DriverSortBy.EMAIL));
+    }
+
+    @Test
+    void pages_with_exact_total_and_next_flag() {
+        DriverSearchResult counted = columns.search(NO_FILTER, DriverSortBy.CREATED_AT, true, 1, 1, true);
+        DriverSearchResult sliced = columns.search(NO_FILTER, DriverSortBy.CREATED_AT, true, 1, 1, false);
+
+        assertEquals(List.of(bruno), counted.content());
+        assertEquals(3, counted.total());
+        assertTrue(counted.hasNext());
+        assertTrue(sliced.hasNext());
+        assertFalse(columns.search(NO_FILTER, DriverSortBy.CREATED_AT, true, 2, 1, false).hasNext());
+    }
+
+    @Test
+    void version_counts_matches_and_returns_last_update() {
+        DriverVersion all = columns.version(NO_FILTER);
+        DriverVersion sp = columns.version(new DriverFilter(null, null, "SP", null));
+
+        assertEquals(3, all.count());
+        assertEquals(carla.updatedAt(), all.lastUpdatedAt());
+        assertEquals(2, sp.count());
+        assertEquals(bruno.updatedAt(), sp.lastUpdatedAt());
+        assertEquals(new DriverVersion(0, null, 0), columns.version(new DriverFilter(null, "Recife", null, null)));
+    }
+
+    @Test
+    void version_changes_when_a_position_changes() {
+        DriverVersion before = columns.version(NO_FILTER);
+
+        columns.moveTo(ana.id(), -23.5, -46.6, 0);
+        DriverVersion moved = columns.version(NO_FILTER);
+
+        assertEquals(before.count(), moved.count());
+        assertEquals(before.lastUpdatedAt(), moved.lastUpdatedAt());
+        assertNotEquals(before.positions(), moved.positions());
+
+        columns.moveTo(ana.id(), -23.6, -46.7, 0);
+        assertNotEquals(moved.positions(), columns.version(NO_FILTER).positions());
+    }
+
+    @Test
+    void upsert_moves_driver_and_inactive_or_removed_drivers_disappear() {
+        DriverResponse renamed = new DriverResponse(ana.id(), "Zeca", ana.email(), ana.phone(), ana.city(),
+                ana.state(), ana.vehicleTypes(), true, ana.createdAt(), ana.updatedAt().plusDays(5), 1L, null, null);
+
+        columns.upsert(renamed);
+        assertEquals(List.of(bruno, carla, renamed), search(NO_FILTER, DriverSortBy.UPDATED_AT, true, 0, 10).content());
+        assertEquals(List.of(renamed, bruno, carla), search(NO_FILTER, DriverSortBy.CREATED_AT, true, 0, 10).content());
+
+        columns.upsert(new DriverResponse(bruno.id(), bruno.name(), bruno.email(), bruno.phone(), bruno.city(),
+                bruno.state(), bruno.vehicleTypes(), false, bruno.createdAt(), bruno.updatedAt(), 1L, null, null));
+        columns.remove(carla.id());
+
+        assertEquals(List.of(renamed), names(NO_FILTER));
+        assertEquals(List.of(renamed), search(NO_FILTER, DriverSortBy.UPDATED_AT, true, 0, 10).content());
+        assertEquals(1, columns.size());
+    }
+
+    @Test
+    void move_to_changes_only_the_position() {
+        columns.moveTo(bruno.id(), -22.9, -47.06, 0);
+
+        assertEquals(List.of(bruno.withLocation(-22.9, -47.06)), names(new DriverFilter(null, "Campinas", null, null)));
+    }
+
+    @Test
+    void writes_with_an_older_version_are_dropped() {
+        DriverResponse edited = new DriverResponse(ana.id(), "Ana Paula", ana.email(), ana.phone(), ana.city(),
+                ana.state(), ana.vehicleTypes(), true, ana.createdAt(), ana.updatedAt().plusDays(5), 2L, null, null);
+        DriverResponse stale = new DriverResponse(ana.id(), "Ana Maria", ana.email(), ana.phone(), ana.city(),
+                ana.state(), ana.vehicleTypes(), true, ana.createdAt(), ana.updatedAt().plusDays(4), 1L, null, null);
+
+        columns.upsert(edited);
+        columns.upsert(stale);
+        columns.moveTo(ana.id(), -23.5, -46.6, 1);
+
+        assertEquals(List.of(edited), names(new DriverFilter("ana", null, null, null)));
+        assertEquals(List.of(bruno, carla, edited), search(NO_FILTER, DriverSortBy.UPDATED_AT, true, 0, 10).content());
+
+        columns.remove(bruno.id(), 1);
+        columns.upsert(bruno);
+        columns.upsertAll(List.of(bruno));
+
+        assertEquals(List.of(ana.id(), carla.id()), names(NO_FILTER).stream().map(DriverResponse::id).toList());
+    }
+
+    @Test
+    void upsert_all_merges_new_drivers_into_every_order() {
+        LocalDateTime afternoon = LocalDateTime.of(2026, 1, 2, 18, 0);
+        DriverResponse alice = new DriverResponse(UUID.randomUUID(), "Alice", null, null, "Recife", "PE",
+                Set.of(VehicleType.VAN), true, afternoon, afternoon, 0L, null, null);
+        DriverResponse zeca = driver("Zeca", null, "Natal", "RN", VehicleType.VAN, 9);
+        DriverResponse edited = new DriverResponse(ana.id(), ana.name(), ana.email(), ana.phone(), ana.city(),
+                ana.state(), ana.vehicleTypes(), true, ana.createdAt(), ana.updatedAt().plusDays(10), 1L, null, null);
+
+        columns.upsertAll(List.of(zeca, edited, alice));
+
+        assertEquals(List.of(edited, bruno, alice, carla, zeca), names(NO_FILTER));
+        assertEquals(List.of(bruno, alice, carla, zeca, edited),
+                search(NO_FILTER, DriverSortBy.UPDATED_AT, true, 0, 10).content());
+        assertEquals(5, columns.size());
+    }
+
+    private List<DriverResponse> names(DriverFilter filter) {
+        return search(filter, DriverSortBy.CREATED_AT, true, 0, 10).content();
+    }
+
+    private DriverSearchResult search(DriverFilter filter, DriverSortBy sortBy, boolean ascending, long offset,
+            int limit) {
+        return columns.search(filter, sortBy, ascending, offset, limit, true);
+    }
+
+    private static DriverResponse driver(String name, String email, String city, String state, VehicleType type,
+            int day) {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, day, 12, 0);
+        return new DriverResponse(UUID.randomUUID(), name, email, "1199999999" + day, city, state,
+                Set.of(type), true, createdAt, createdAt, 0L, null, null);
+    }
+}
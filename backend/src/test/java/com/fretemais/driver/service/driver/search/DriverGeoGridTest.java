@@ -0,0 +1,110 @@
+package com.fretemais.driver.service.driver.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class DriverGeoGridTest {
+
+    private static final short VAN = 1;
+    private static final short TRUCK = 2;
+
+    @Test
+    void nearest_matches_brute_force_within_radius_and_vehicle_types() {
+        DriverGeoGrid grid = new DriverGeoGrid(0.05);
+        Random random = new Random(42);
+        List<double[]> points = new ArrayList<>();
+        List<UUID> ids = new ArrayList<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            double latitude = -24 + random.nextDouble();
+            double longitude = -47 + random.nextDouble();
+            short mask = i % 3 == 0 ? TRUCK : VAN;
+            UUID id = UUID.randomUUID();
+            grid.put(id, latitude, longitude, mask, 0);
+            points.add(new double[] {latitude, longitude, mask});
+            ids.add(id);
+        }
+
+        List<DriverDistance> expected = new ArrayList<>();
+        for (int i = 0; i < points.size(); i++) {
+            double[] point = points.get(i);
+            double distance = DriverGeoGrid.distanceKm(-23.5, -46.5, point[0], point[1]);
+            if (distance <= 8 && ((short) point[2] & TRUCK) != 0) {
+                expected.add(new DriverDistance(ids.get(i), distance));
+            }
+        }
+        expected.sort(Comparator.comparingDouble(DriverDistance::distanceKm));
+
+        assertEquals(expected.subList(0, 20), grid.nearest(-23.5, -46.5, 8, TRUCK, 20));
+        assertEquals(expected, grid.nearest(-23.5, -46.5, 8, TRUCK, 10_000));
+    }
+
+    @Test
+    void put_moves_driver_and_remove_drops_it() {
+        DriverGeoGrid grid = new DriverGeoGrid(0.05);
+        UUID id = UUID.randomUUID();
+
+        grid.put(id, -23.55, -46.63, VAN, 0);
+        grid.put(id, -22.90, -43.17, VAN, 0);
+
+        assertEquals(List.of(), grid.nearest(-23.55, -46.63, 50, (short) 0, 5));
+        assertEquals(id, grid.nearest(-22.91, -43.17, 5, (short) 0, 5).get(0).id());
+
+        grid.remove(id);
+
+        assertEquals(0, grid.size());
+        assertEquals(List.of(), grid.nearest(-22.91, -43.17, 5, (short) 0, 5));
+    }
+
+    @Test
+    void writes_with_an_older_version_are_dropped() {
+        DriverGeoGrid grid = new DriverGeoGrid(0.05);
+        UUID id = UUID.randomUUID();
+
+        grid.put(id, -22.90, -43.17, VAN, 2);
+        grid.put(id, -23.55, -46.63, VAN, 1);
+        grid.evict(id, 1);
+
+        assertEquals(1, grid.size());
+        assertEquals(id, grid.nearest(-22.91, -43.17, 5, (short) 0, 5).get(0).id());
+
+        grid.evict(id, 2);
+        assertEquals(0, grid.size());
+    }
+
+    @Test
+    void put_does_not_bring_back_a_driver_removed_at_a_newer_version() {
+        DriverGeoGrid grid = new DriverGeoGrid(0.05);
+        UUID removed = UUID.randomUUID();
+        UUID fresh = UUID.randomUUID();
+
+        grid.put(removed, -23.55, -46.63, VAN, 0);
+        grid.remove(removed, 4);
+        grid.put(removed, -23.56, -46.64, VAN, 3);
+        grid.put(fresh, -23.56, -46.64, VAN, 0);
+
+        assertEquals(List.of(fresh), grid.nearest(-23.55, -46.63, 5, (short) 0, 5).stream()
+                .map(DriverDistance::id).toList());
+    }
+
+    @Test
+    void nearest_crosses_the_antimeridian() {
+        DriverGeoGrid grid = new DriverGeoGrid(0.05);
+        UUID east = UUID.randomUUID();
+        UUID west = UUID.randomUUID();
+
+        grid.put(east, 0, 179.98, VAN, 0);
+        grid.put(west, 0, -179.98, VAN, 0);
+
+        List<DriverDistance> result = grid.nearest(0, -179.995, 5, (short) 0, 5);
+
+        assertEquals(List.of(west, east), result.stream().map(DriverDistance::id).toList());
+    }
+}
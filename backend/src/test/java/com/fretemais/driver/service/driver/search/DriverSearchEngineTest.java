@@ -0,0 +1,116 @@
+package com.fretemais.driver.service.driver.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fretemais.driver.service.common.datasource.DataSourceRouting;
+import com.fretemais.driver.service.driver.domain.Driver;
+import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.repository.DriverRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DriverSearchEngineTest {
+
+    private static final DriverFilter NO_FILTER = new DriverFilter(null, null, null, null);
+
+    private final DriverRepository driverRepository = mock(DriverRepository.class);
+
+    @Test
+    void serves_nothing_until_rebuilt_then_applies_write_through() {
+        DriverSearchEngine engine = engine(true);
+        DriverResponse loaded = driver("Ana", 0);
+        DriverResponse created = driver("Bruno", 1);
+
+        when(driverRepository.streamResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(), any(Sort.class), anyInt()))
+                .thenReturn(Stream.of(loaded));
+
+        assertTrue(engine.page(NO_FILTER, PageRequest.of(0, 10, Sort.by("createdAt"))).isEmpty());
+
+        engine.rebuild();
+        engine.upsert(created);
+
+        Page<DriverResponse> page = engine.page(NO_FILTER, PageRequest.of(0, 10, Sort.by("createdAt"))).orElseThrow();
+        assertEquals(2, page.getTotalElements());
+        assertEquals("Bruno", page.getContent().get(1).name());
+
+        engine.remove(loaded.id(), loaded.version() + 1);
+        assertEquals(1, engine.page(NO_FILTER, PageRequest.of(0, 10, Sort.by("createdAt"))).orElseThrow()
+                .getTotalElements());
+    }
+
+    @Test
+    void unsupported_sort_falls_back_to_database() {
+        DriverSearchEngine engine = engine(true);
+        when(driverRepository.streamResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(), any(Sort.class), anyInt()))
+                .thenReturn(Stream.empty());
+        engine.rebuild();
+
+        assertTrue(engine.page(NO_FILTER, PageRequest.of(0, 10)).isEmpty());
+        assertTrue(engine.page(NO_FILTER, PageRequest.of(0, 10, Sort.by("createdAt", "email"))).isEmpty());
+        assertTrue(engine.page(NO_FILTER, PageRequest.of(0, 10, Sort.by("name", "id"))).isEmpty());
+        assertTrue(engine.slice(NO_FILTER, PageRequest.of(0, 10, Sort.by("updatedAt", "id"))).isPresent());
+    }
+
+    @Test
+    void rebuild_reads_from_primary() {
+        DriverSearchEngine engine = engine(true);
+        AtomicBoolean primaryForced = new AtomicBoolean();
+        when(driverRepository.streamResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(), any(Sort.class), anyInt()))
+                .thenAnswer(invocation -> {
+                    primaryForced.set(DataSourceRouting.isPrimaryForced());
+                    return Stream.empty();
+                });
+
+        engine.rebuild();
+
+        assertTrue(primaryForced.get());
+        assertFalse(DataSourceRouting.isPrimaryForced());
+    }
+
+    @Test
+    void disabled_engine_never_loads() {
+        DriverSearchEngine engine = engine(false);
+
+        engine.rebuild();
+
+        assertTrue(engine.page(NO_FILTER, PageRequest.of(0, 10, Sort.by("createdAt"))).isEmpty());
+        verify(driverRepository, never()).streamResponses(any(), any(), anyInt());
+    }
+
+    private DriverSearchEngine engine(boolean enabled) {
+        return new DriverSearchEngine(driverRepository, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), enabled, 100);
+    }
+
+    private static DriverResponse driver(String name, int minute) {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 12, minute);
+        return new DriverResponse(UUID.randomUUID(), name, null, null, "Sao Paulo", "SP",
+                Set.of(VehicleType.VAN), true, createdAt, createdAt, 0L, null, null);
+    }
+}
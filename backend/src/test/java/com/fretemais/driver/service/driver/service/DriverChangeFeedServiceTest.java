@@ -0,0 +1,119 @@
+package com.fretemais.driver.service.driver.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.fretemais.driver.service.common.datasource.DataSourceRouting;
+import com.fretemais.driver.service.driver.domain.Driver;
+import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.dto.DriverChangeFeed;
+import com.fretemais.driver.service.driver.dto.DriverCursor;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.dto.DriverSortBy;
+import com.fretemais.driver.service.driver.exception.InvalidCursorException;
+import com.fretemais.driver.service.driver.repository.DriverRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class DriverChangeFeedServiceTest {
+
+    @Mock
+    private DriverRepository driverRepository;
+
+    private DriverChangeFeedService driverChangeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        driverChangeFeedService = new DriverChangeFeedService(
+                driverRepository, new DriverSearchMetrics(new SimpleMeterRegistry()), Duration.ofSeconds(2));
+    }
+
+    @Test
+    void changes_return_cursor_of_last_row_including_tombstones() {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 1, 10, 0);
+        DriverResponse updated = driver(now, true);
+        DriverResponse removed = driver(now.plusSeconds(1), false);
+        DriverResponse next = driver(now.plusSeconds(2), true);
+
+        when(driverRepository.findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(),
+                eq(Sort.by(Sort.Direction.ASC, "updatedAt", "id")),
+                eq(0L),
+                eq(3)))
+                .thenReturn(List.of(updated, removed, next));
+
+        DriverChangeFeed feed = driverChangeFeedService.changes(null, 2);
+
+        assertEquals(List.of(updated, removed), feed.changes());
+        assertTrue(feed.hasMore());
+        DriverCursor cursor = DriverCursor.decode(feed.nextCursor());
+        assertEquals(removed.id(), cursor.id());
+        assertEquals(removed.updatedAt(), cursor.sortValue());
+    }
+
+    @Test
+    void changes_without_new_rows_keep_the_cursor() {
+        String since = DriverCursor.of(driver(LocalDateTime.now(), true), DriverSortBy.UPDATED_AT,
+                Sort.Direction.ASC).encode();
+
+        when(driverRepository.findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(), any(Sort.class), eq(0L), eq(11)))
+                .thenReturn(List.of());
+
+        DriverChangeFeed feed = driverChangeFeedService.changes(since, 10);
+
+        assertEquals(since, feed.nextCursor());
+        assertFalse(feed.hasMore());
+    }
+
+    @Test
+    void changes_are_read_from_the_primary() {
+        List<Boolean> primaryForced = new ArrayList<>();
+
+        when(driverRepository.findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(), any(Sort.class), eq(0L), eq(11)))
+                .thenAnswer(invocation -> {
+                    primaryForced.add(DataSourceRouting.isPrimaryForced());
+                    return List.of();
+                });
+
+        driverChangeFeedService.changes(null, 10);
+
+        assertEquals(List.of(true), primaryForced);
+        assertFalse(DataSourceRouting.isPrimaryForced());
+    }
+
+    @Test
+    void changes_reject_cursor_from_another_listing() {
+        String cursor = DriverCursor.of(driver(LocalDateTime.now(), true), DriverSortBy.NAME,
+                Sort.Direction.ASC).encode();
+
+        assertThrows(InvalidCursorException.class, () -> driverChangeFeedService.changes(cursor, 10));
+    }
+
+    private static DriverResponse driver(LocalDateTime updatedAt, boolean active) {
+        return new DriverResponse(UUID.randomUUID(), "Maria", null, null, "Sao Paulo", "SP",
+                Set.of(VehicleType.VAN), active, updatedAt, updatedAt, 0L, null, null);
+    }
+}
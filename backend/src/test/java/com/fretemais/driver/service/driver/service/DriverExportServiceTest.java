@@ -0,0 +1,79 @@
+package com.fretemais.driver.service.driver.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fretemais.driver.service.driver.domain.Driver;
+import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.dto.DriverFileFormat;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.repository.DriverRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DriverExportServiceTest {
+
+    @Mock
+    private DriverRepository driverRepository;
+
+    @Test
+    void export_csv_escapes_values_and_joins_vehicle_types() throws IOException {
+        UUID id = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 10, 0);
+        DriverResponse driver = new DriverResponse(
+                id,
+                "Silva, \"Joao\"",
+                null,
+                "11999999999",
+                "Sao Paulo",
+                "SP",
+                Set.of(VehicleType.VAN),
+                true,
+                createdAt,
+                createdAt,
+                0L,
+                -23.55,
+                -46.63
+        );
+
+        when(driverRepository.streamResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(),
+                any(Sort.class),
+                eq(50)
+        ))
+                .thenReturn(Stream.of(driver));
+
+        DriverExportService driverExportService = new DriverExportService(driverRepository, new ObjectMapper(), 50);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        driverExportService.export(
+                new DriverFilter(null, null, null, null),
+                Sort.by("createdAt"),
+                DriverFileFormat.CSV,
+                output);
+
+        String expected = "id,name,email,phone,city,state,vehicleTypes,active,createdAt,updatedAt,latitude,longitude\n"
+                + id + ",\"Silva, \"\"Joao\"\"\",,11999999999,Sao Paulo,SP,VAN,true,"
+                + "2026-01-01T10:00,2026-01-01T10:00,-23.55,-46.63\n";
+
+        assertEquals(expected, output.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,97 @@
+package com.fretemais.driver.service.driver.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.dto.DriverFacets;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.dto.FacetCount;
+import com.fretemais.driver.service.driver.repository.DriverFacetRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class DriverFacetServiceTest {
+
+    @Mock
+    private DriverFacetRepository driverFacetRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DriverFacetService service(int cityLimit) {
+        return new DriverFacetService(
+                driverFacetRepository,
+                new DriverSearchMetrics(meterRegistry),
+                meterRegistry,
+                Duration.ofMinutes(1),
+                100L,
+                cityLimit);
+    }
+
+    @Test
+    void facets_caches_unfiltered_and_low_selectivity_results() {
+        DriverFacets small = facets(5);
+        DriverFacets large = facets(500);
+        when(driverFacetRepository.count(any(DriverFilter.class))).thenReturn(small, large);
+        DriverFacetService service = service(10);
+
+        DriverFilter unfiltered = new DriverFilter(null, " ", null, null);
+        DriverFilter broad = new DriverFilter(null, null, "sp", Set.of(VehicleType.VAN));
+
+        assertSame(small, service.facets(unfiltered));
+        assertSame(small, service.facets(new DriverFilter("", null, null, Set.of())));
+        assertSame(large, service.facets(broad));
+        assertSame(large, service.facets(new DriverFilter(null, null, "SP", Set.of(VehicleType.VAN))));
+
+        verify(driverFacetRepository, times(2)).count(any(DriverFilter.class));
+    }
+
+    @Test
+    void facets_does_not_cache_selective_filters_and_trims_cities() {
+        when(driverFacetRepository.count(any(DriverFilter.class))).thenReturn(facets(5));
+        DriverFacetService service = service(1);
+        DriverFilter filter = new DriverFilter("maria", null, null, null);
+
+        DriverFacets result = service.facets(filter);
+        service.facets(filter);
+
+        assertEquals(List.of(new FacetCount("Sao Paulo", 3)), result.cities());
+        verify(driverFacetRepository, times(2)).count(filter);
+    }
+
+    @Test
+    void facets_does_not_share_cache_between_filters_that_query_differently() {
+        DriverFacets padded = facets(500);
+        DriverFacets exact = facets(400);
+        when(driverFacetRepository.count(any(DriverFilter.class))).thenReturn(padded, exact);
+        DriverFacetService service = service(10);
+
+        assertSame(padded, service.facets(new DriverFilter(null, "Campinas ", null, null)));
+        assertSame(exact, service.facets(new DriverFilter(null, "campinas", null, null)));
+        assertSame(exact, service.facets(new DriverFilter(null, "CAMPINAS", null, null)));
+
+        verify(driverFacetRepository, times(2)).count(any(DriverFilter.class));
+    }
+
+    private static DriverFacets facets(long total) {
+        return new DriverFacets(
+                total,
+                List.of(new FacetCount("SP", total)),
+                List.of(new FacetCount("Sao Paulo", 3), new FacetCount("Campinas", 2)),
+                List.of(new FacetCount("VAN", total)));
+    }
+}
@@ -0,0 +1,162 @@
+package com.fretemais.driver.service.driver.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fretemais.driver.service.driver.dto.DriverFileFormat;
+import com.fretemais.driver.service.driver.dto.DriverImportResult;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.search.DriverGeoIndex;
+import com.fretemais.driver.service.driver.search.DriverSearchEngine;
+import com.fretemais.driver.service.driver.stream.DriverEvent;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class DriverImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DriverSearchEngine driverSearchEngine;
+
+    @Mock
+    private DriverGeoIndex driverGeoIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private DriverImportService driverImportService;
+
+    @BeforeEach
+    void setUp() {
+        driverImportService = new DriverImportService(
+                jdbcTemplate,
+                new TransactionTemplate(transactionManager),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(),
+                driverSearchEngine,
+                driverGeoIndex,
+                eventPublisher,
+                2,
+                10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void import_csv_writes_valid_rows_in_batches_and_reports_invalid_ones() throws IOException {
+        String csv = """
+                name,email,phone,city,state,vehicleTypes,latitude,longitude
+                Maria,maria@fretemais.com,11999999999,Sao Paulo,sp,VAN|BAU,-23.55,-46.63
+                "Silva, Joao",,,Campinas,SP,TRUCK
+                Carlos,carlos@fretemais.com,,Curitiba,PRX,VAN
+                Ana,,,Niteroi,RJ,AVIAO
+                Pedro,,,Porto Alegre,RS,SIDER
+                """;
+
+        DriverImportResult result = driverImportService.importDrivers(stream(csv), DriverFileFormat.CSV);
+
+        assertEquals(3, result.imported());
+        assertEquals(2, result.failed());
+        assertEquals(4, result.errors().get(0).line());
+        assertTrue(result.errors().get(0).fields().containsKey("state"));
+        assertEquals(5, result.errors().get(1).line());
+        assertFalse(result.errorsTruncated());
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, org.mockito.Mockito.times(2)).batchUpdate(anyString(), captor.capture());
+        assertEquals(2, captor.getAllValues().get(0).size());
+        assertEquals("Silva, Joao", captor.getAllValues().get(0).get(1)[1]);
+        assertEquals("SP", captor.getAllValues().get(0).get(0)[5]);
+        assertEquals(-23.55, captor.getAllValues().get(0).get(0)[8]);
+        assertEquals(null, captor.getAllValues().get(0).get(1)[8]);
+        assertEquals(captor.getAllValues().get(0).get(0)[10], captor.getAllValues().get(0).get(0)[11]);
+        assertEquals(1, captor.getAllValues().get(1).size());
+
+        ArgumentCaptor<List<DriverResponse>> indexed = ArgumentCaptor.forClass(List.class);
+        verify(driverSearchEngine, times(2)).upsertAll(indexed.capture());
+        assertEquals("Maria", indexed.getAllValues().get(0).get(0).name());
+        assertEquals(captor.getAllValues().get(0).get(0)[0], indexed.getAllValues().get(0).get(0).id());
+        verify(driverGeoIndex, times(2)).upsertAll(anyList());
+        verify(eventPublisher, times(3)).publishEvent(argThat((Object event) ->
+                event instanceof DriverEvent created && created.type() == DriverEvent.Type.CREATED));
+        verify(driverSearchEngine, never()).rebuild();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failed_batch_is_retried_row_by_row_to_report_the_failing_line() throws IOException {
+        String ndjson = """
+                {"name":"Maria","city":"Sao Paulo","state":"SP","vehicleTypes":["VAN"]}
+                {"name":"Joao","email":"dup@fretemais.com","city":"Campinas","state":"SP","vehicleTypes":["VAN"]}
+                """;
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DuplicateKeyException("email"))
+                .thenReturn(new int[] {1})
+                .thenThrow(new DuplicateKeyException("email"));
+
+        DriverImportResult result = driverImportService.importDrivers(stream(ndjson), DriverFileFormat.NDJSON);
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.failed());
+        assertEquals(2, result.errors().get(0).line());
+        assertEquals("Falha ao gravar linha", result.errors().get(0).message());
+
+        ArgumentCaptor<List<DriverResponse>> indexed = ArgumentCaptor.forClass(List.class);
+        verify(driverSearchEngine).upsertAll(indexed.capture());
+        assertEquals(List.of("Maria"), indexed.getValue().stream().map(DriverResponse::name).toList());
+        verify(eventPublisher).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void import_ndjson_reports_unreadable_lines_without_writing() throws IOException {
+        String ndjson = """
+                {"name":"Maria","city":"Sao Paulo","state":"SP","vehicleTypes":[]}
+                {not json
+                """;
+
+        DriverImportResult result = driverImportService.importDrivers(stream(ndjson), DriverFileFormat.NDJSON);
+
+        assertEquals(0, result.imported());
+        assertEquals(2, result.failed());
+        assertEquals("Dados invalidos", result.errors().get(0).message());
+        assertEquals("Linha invalida", result.errors().get(1).message());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), org.mockito.ArgumentMatchers.<List<Object[]>>any());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
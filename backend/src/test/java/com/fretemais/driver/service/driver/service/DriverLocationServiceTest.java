@@ -0,0 +1,108 @@
+package com.fretemais.driver.service.driver.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.fretemais.driver.service.driver.cache.DriverCache;
+import com.fretemais.driver.service.driver.repository.DriverLocation;
+import com.fretemais.driver.service.driver.repository.DriverPosition;
+import com.fretemais.driver.service.driver.repository.DriverWriteRepository;
+import com.fretemais.driver.service.driver.search.DriverGeoIndex;
+import com.fretemais.driver.service.driver.search.DriverSearchEngine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class DriverLocationServiceTest {
+
+    @Mock
+    private DriverWriteRepository driverWriteRepository;
+
+    @Mock
+    private DriverCache driverCache;
+
+    @Mock
+    private DriverSearchEngine driverSearchEngine;
+
+    @Mock
+    private DriverGeoIndex driverGeoIndex;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DriverLocationService driverLocationService;
+
+    @BeforeEach
+    void setUp() {
+        driverLocationService = new DriverLocationService(driverWriteRepository, driverCache, driverSearchEngine,
+                driverGeoIndex, meterRegistry, 4, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_writes_only_the_last_location_per_driver_in_batches() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        short mask = 4;
+
+        when(driverWriteRepository.updateLocations(anyList()))
+                .thenReturn(List.of(new DriverPosition(first, -23.2, -46.2, mask, 3L)), List.of());
+
+        driverLocationService.record(first, -23.1, -46.1);
+        driverLocationService.record(first, -23.2, -46.2);
+        driverLocationService.record(second, -22.9, -43.2);
+        driverLocationService.record(third, -25.4, -49.3);
+
+        assertEquals(3.0, meterRegistry.get("drivers.location.buffer.size").gauge().value());
+        assertEquals(3, driverLocationService.flush());
+
+        ArgumentCaptor<List<DriverLocation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(driverWriteRepository, org.mockito.Mockito.times(2)).updateLocations(captor.capture());
+        List<DriverLocation> written = captor.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(3, written.size());
+        assertEquals(new DriverLocation(first, -23.2, -46.2),
+                written.stream().filter(location -> location.id().equals(first)).findFirst().orElseThrow());
+
+        verify(driverCache).updateLocation(first, -23.2, -46.2, 3L);
+        verify(driverCache, never()).put(any());
+        verify(driverSearchEngine).updateLocation(first, -23.2, -46.2, 3L);
+        verify(driverGeoIndex).move(first, -23.2, -46.2, mask, 3L);
+        verify(driverSearchEngine, never()).upsert(any());
+        verify(driverGeoIndex, never()).upsert(any());
+        assertEquals(0.0, meterRegistry.get("drivers.location.buffer.size").gauge().value());
+        assertEquals(4.0 / 3, meterRegistry.get("drivers.location.coalescing.ratio").summary().mean(), 1e-9);
+    }
+
+    @Test
+    void flush_failure_keeps_locations_without_overwriting_newer_ones() {
+        UUID id = UUID.randomUUID();
+
+        when(driverWriteRepository.updateLocations(anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of());
+
+        driverLocationService.record(id, -23.1, -46.1);
+        assertEquals(0, driverLocationService.flush());
+
+        driverLocationService.record(id, -23.3, -46.3);
+        driverLocationService.flush();
+
+        verify(driverWriteRepository).updateLocations(List.of(new DriverLocation(id, -23.3, -46.3)));
+        assertEquals(1.0, meterRegistry.get("drivers.location.failed").counter().count());
+    }
+}
@@ -1,12 +1,25 @@
 package com.fretemais.driver.service.driver.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -15,20 +28,50 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import com.fretemais.driver.service.driver.cache.DriverCache;
 import com.fretemais.driver.service.driver.domain.Driver;
 import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.domain.VehicleTypes;
+import com.fretemais.driver.service.driver.dto.CursorPage;
+import com.fretemais.driver.service.driver.dto.DriverBatchGetResponse;
 import com.fretemais.driver.service.driver.dto.DriverCreateRequest;
+import com.fretemais.driver.service.driver.dto.DriverCursor;
+import com.fretemais.driver.service.driver.dto.DriverField;
 import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.dto.DriverPatchRequest;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+import com.fretemais.driver.service.driver.dto.DriverSortBy;
+import com.fretemais.driver.service.driver.dto.DriverTotalMode;
 import com.fretemais.driver.service.driver.dto.DriverUpdateRequest;
+import com.fretemais.driver.service.driver.dto.DriverVersion;
+import com.fretemais.driver.service.driver.dto.NearbyDriver;
+import com.fretemais.driver.service.driver.exception.DriverGeoIndexUnavailableException;
 import com.fretemais.driver.service.driver.exception.DriverNotFoundException;
+import com.fretemais.driver.service.driver.exception.DriverVersionConflictException;
+import com.fretemais.driver.service.driver.exception.InvalidCursorException;
+import com.fretemais.driver.service.driver.repository.DriverChanges;
+import com.fretemais.driver.service.driver.repository.DriverCountEstimator;
 import com.fretemais.driver.service.driver.repository.DriverRepository;
+import com.fretemais.driver.service.driver.repository.DriverRevision;
+import com.fretemais.driver.service.driver.repository.DriverWriteRepository;
+import com.fretemais.driver.service.driver.search.DriverDistance;
+import com.fretemais.driver.service.driver.search.DriverGeoIndex;
+import com.fretemais.driver.service.driver.search.DriverSearchEngine;
+import com.fretemais.driver.service.driver.stream.DriverEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class DriverServiceTest {
@@ -36,6 +79,29 @@ class DriverServiceTest {
     @Mock
     private DriverRepository driverRepository;
 
+    @Mock
+    private DriverWriteRepository driverWriteRepository;
+
+    @Mock
+    private DriverCountEstimator driverCountEstimator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private DriverCache driverCache;
+
+    @Mock
+    private DriverSearchEngine driverSearchEngine;
+
+    @Mock
+    private DriverGeoIndex driverGeoIndex;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private DriverSearchMetrics driverSearchMetrics = new DriverSearchMetrics(meterRegistry);
+
     @InjectMocks
     private DriverService driverService;
 
@@ -47,7 +113,9 @@ class DriverServiceTest {
                 "11999999999",
                 "Sao Paulo",
                 "sp",
-                Set.of(VehicleType.VAN, VehicleType.BAU)
+                Set.of(VehicleType.VAN, VehicleType.BAU),
+                -23.55,
+                -46.63
         );
 
         when(driverRepository.save(any(Driver.class)))
@@ -60,7 +128,9 @@ class DriverServiceTest {
         assertEquals("11999999999", created.getPhone());
         assertEquals("Sao Paulo", created.getCity());
         assertEquals("SP", created.getState());
-        assertEquals(2, created.getVehicleTypes().length);
+        assertEquals(Set.of(VehicleType.VAN, VehicleType.BAU), created.getVehicleTypes());
+        assertEquals(-23.55, created.getLatitude());
+        assertEquals(-46.63, created.getLongitude());
     }
 
     @Test
@@ -72,31 +142,233 @@ class DriverServiceTest {
                 "11888888888",
                 "Campinas",
                 "SP",
-                Set.of(VehicleType.TRUCK)
+                Set.of(VehicleType.TRUCK),
+                null,
+                null,
+                null
         );
 
-        when(driverRepository.findById(id)).thenReturn(java.util.Optional.empty());
+        when(driverWriteRepository.update(eq(id), any(DriverChanges.class), eq(null)))
+                .thenReturn(Optional.empty());
 
         assertThrows(DriverNotFoundException.class, () -> driverService.update(id, request));
-        verify(driverRepository, never()).save(any());
+        verify(driverWriteRepository, never()).existsActive(id);
+        verify(driverCache, never()).put(any());
+    }
+
+    @Test
+    void update_with_stale_version_throws_conflict() {
+        UUID id = UUID.randomUUID();
+        DriverUpdateRequest request = new DriverUpdateRequest(
+                "Carlos",
+                null,
+                null,
+                "Campinas",
+                "SP",
+                Set.of(VehicleType.TRUCK),
+                null,
+                null,
+                2L
+        );
+
+        when(driverWriteRepository.update(eq(id), any(DriverChanges.class), eq(2L)))
+                .thenReturn(Optional.empty());
+        when(driverWriteRepository.existsActive(id)).thenReturn(true);
+
+        assertThrows(DriverVersionConflictException.class, () -> driverService.update(id, request));
+    }
+
+    @Test
+    void patch_sends_only_given_fields_and_refreshes_cache() {
+        DriverResponse previous = responseCreatedAt(LocalDateTime.now());
+        DriverResponse updated = responseCreatedAt(LocalDateTime.now());
+        DriverPatchRequest request = new DriverPatchRequest(null, null, null, null, "rj", null, null, null, 4L);
+
+        when(driverWriteRepository.update(eq(updated.id()), any(DriverChanges.class), eq(4L)))
+                .thenReturn(Optional.of(new DriverRevision(previous, updated)));
+
+        assertEquals(updated, driverService.patch(updated.id(), request));
+
+        ArgumentCaptor<DriverChanges> captor = ArgumentCaptor.forClass(DriverChanges.class);
+        verify(driverWriteRepository).update(eq(updated.id()), captor.capture(), eq(4L));
+        assertEquals(new DriverChanges(null, null, null, null, "RJ", null, null, null, true), captor.getValue());
+        verify(driverCache).put(updated);
+        verify(driverSearchEngine).upsert(updated);
+        verify(eventPublisher).publishEvent(new DriverEvent(DriverEvent.Type.UPDATED, updated, previous));
     }
 
     @Test
     void delete_marks_driver_as_inactive() {
+        DriverResponse deleted = responseCreatedAt(LocalDateTime.now());
+        UUID id = deleted.id();
+
+        when(driverWriteRepository.deactivate(id, null)).thenReturn(Optional.of(deleted));
+
+        driverService.delete(id, null);
+
+        verify(driverRepository, never()).findById(any());
+        verify(driverCache).put(deleted);
+        verify(driverSearchEngine).remove(id, deleted.version());
+        verify(eventPublisher).publishEvent(new DriverEvent(DriverEvent.Type.DELETED, deleted));
+    }
+
+    @Test
+    void delete_throws_not_found_when_no_row_is_affected() {
         UUID id = UUID.randomUUID();
-        Driver driver = new Driver();
-        driver.setId(id);
-        driver.setActive(true);
 
-        when(driverRepository.findById(id)).thenReturn(java.util.Optional.of(driver));
-        when(driverRepository.save(any(Driver.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(driverWriteRepository.deactivate(id, 1L)).thenReturn(Optional.empty());
+        when(driverWriteRepository.existsActive(id)).thenReturn(false);
+
+        assertThrows(DriverNotFoundException.class, () -> driverService.delete(id, 1L));
+        verify(driverCache, never()).put(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void delete_during_find_by_id_keeps_the_removed_driver_out_of_the_cache() {
+        DriverCache cache = new DriverCache(new CaffeineCacheManager(DriverCache.NAME), Duration.ofSeconds(30), false);
+        DriverService service = new DriverService(driverRepository, driverWriteRepository, driverCountEstimator,
+                cache, driverSearchMetrics, driverSearchEngine, driverGeoIndex, eventPublisher);
+        DriverResponse active = responseCreatedAt(LocalDateTime.now());
+        DriverResponse deleted = withState(active, false, active.version() + 1);
 
-        driverService.delete(id);
+        when(driverWriteRepository.deactivate(active.id(), null)).thenReturn(Optional.of(deleted));
+        // A remocao termina enquanto a leitura ainda nao gravou o resultado no cache.
+        when(driverRepository.findResponses(any(), any(Sort.class), anyLong(), anyInt())).thenAnswer(invocation -> {
+            service.delete(active.id(), null);
+            return List.of(active);
+        });
 
-        ArgumentCaptor<Driver> captor = ArgumentCaptor.forClass(Driver.class);
-        verify(driverRepository).save(captor.capture());
-        assertEquals(false, captor.getValue().isActive());
+        assertEquals(active, service.findById(active.id()));
+        assertEquals(Optional.empty(), cache.get(active.id()));
+    }
+
+    @Test
+    void find_by_id_returns_cached_driver_without_query() {
+        DriverResponse cached = responseCreatedAt(LocalDateTime.now());
+
+        when(driverCache.get(cached.id())).thenReturn(java.util.Optional.of(cached));
+
+        assertEquals(cached, driverService.findById(cached.id()));
+        verify(driverRepository, never()).findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(),
+                any(Sort.class),
+                any(Long.class),
+                any(Integer.class));
+    }
+
+    @Test
+    void find_by_id_caches_driver_loaded_on_miss() {
+        DriverResponse loaded = responseCreatedAt(LocalDateTime.now());
+
+        when(driverRepository.findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(),
+                any(Sort.class),
+                eq(0L),
+                eq(1)
+        ))
+                .thenReturn(List.of(loaded));
+
+        assertEquals(loaded, driverService.findById(loaded.id()));
+        verify(driverCache).fill(loaded);
+    }
+
+    @Test
+    void find_nearby_keeps_index_order_and_drops_drivers_no_longer_active() {
+        DriverResponse near = responseCreatedAt(LocalDateTime.now());
+        DriverResponse far = responseCreatedAt(LocalDateTime.now());
+        UUID removed = UUID.randomUUID();
+        short van = (short) VehicleTypes.bit(VehicleType.VAN);
+
+        when(driverGeoIndex.nearest(-23.5, -46.6, 10, van, 3)).thenReturn(Optional.of(List.of(
+                new DriverDistance(near.id(), 0.5),
+                new DriverDistance(removed, 1.0),
+                new DriverDistance(far.id(), 2.0))));
+        when(driverCache.get(any(UUID.class))).thenReturn(Optional.empty());
+        when(driverCache.get(near.id())).thenReturn(Optional.of(near));
+        when(driverCache.get(far.id())).thenReturn(Optional.of(far));
+
+        List<NearbyDriver> result = driverService.findNearby(-23.5, -46.6, 10, Set.of(VehicleType.VAN), 3);
+
+        assertEquals(List.of(new NearbyDriver(near, 0.5), new NearbyDriver(far, 2.0)), result);
+    }
+
+    @Test
+    void find_nearby_fails_while_index_is_loading() {
+        when(driverGeoIndex.nearest(anyDouble(), anyDouble(), anyDouble(), anyShort(), anyInt()))
+                .thenReturn(Optional.empty());
+
+        assertThrows(DriverGeoIndexUnavailableException.class,
+                () -> driverService.findNearby(0, 0, 10, null, 10));
+    }
+
+    @Test
+    void find_etag_fields_uses_cached_driver_without_query() {
+        DriverResponse cached = responseCreatedAt(LocalDateTime.now());
+
+        when(driverCache.get(cached.id())).thenReturn(Optional.of(cached));
+
+        assertEquals(cached, driverService.findETagFields(cached.id()));
+        verifyNoInteractions(driverRepository);
+    }
+
+    @Test
+    void find_version_uses_search_engine_when_ready() {
+        DriverFilter filter = new DriverFilter(null, null, "SP", null);
+        DriverVersion version = new DriverVersion(2, LocalDateTime.now(), 0);
+
+        when(driverSearchEngine.version(filter)).thenReturn(Optional.of(version));
+
+        assertEquals(version, driverService.findVersion(filter));
+        verify(driverRepository, never()).findVersion(org.mockito.ArgumentMatchers.<Specification<Driver>>any());
+    }
+
+    @Test
+    void find_etag_fields_reads_only_updated_at_and_position_and_throws_when_missing() {
+        UUID id = UUID.randomUUID();
+        DriverResponse fields = new DriverResponse(id, null, null, null, null, null, Set.of(), false,
+                null, LocalDateTime.now(), 0L, -23.5, -46.6);
+        Set<DriverField> etagFields = EnumSet.of(
+                DriverField.ID, DriverField.UPDATED_AT, DriverField.LATITUDE, DriverField.LONGITUDE);
+
+        when(driverCache.get(id)).thenReturn(Optional.empty());
+        when(driverRepository.findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(), any(Sort.class), eq(0L), eq(1),
+                eq(etagFields)))
+                .thenReturn(List.of(fields))
+                .thenReturn(List.of());
+
+        assertEquals(fields, driverService.findETagFields(id));
+        assertThrows(DriverNotFoundException.class, () -> driverService.findETagFields(id));
+        verify(driverRepository, never()).findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(),
+                any(Sort.class),
+                any(Long.class),
+                any(Integer.class));
+    }
+
+    @Test
+    void find_by_ids_returns_drivers_in_request_order_and_missing_ids() {
+        DriverResponse cached = responseCreatedAt(LocalDateTime.now());
+        DriverResponse loaded = responseCreatedAt(LocalDateTime.now());
+        UUID missing = UUID.randomUUID();
+
+        when(driverCache.get(any(UUID.class))).thenReturn(Optional.empty());
+        when(driverCache.get(cached.id())).thenReturn(Optional.of(cached));
+        when(driverRepository.findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(),
+                any(Sort.class),
+                eq(0L),
+                eq(2)
+        ))
+                .thenReturn(List.of(loaded));
+
+        DriverBatchGetResponse result = driverService.findByIds(
+                List.of(missing, loaded.id(), cached.id(), loaded.id()));
+
+        assertEquals(List.of(loaded, cached), result.drivers());
+        assertEquals(List.of(missing), result.missing());
+        verify(driverCache).fill(loaded);
     }
 
     @Test
@@ -108,16 +380,232 @@ class DriverServiceTest {
                 Set.of(VehicleType.VAN)
         );
 
-        Page<Driver> expected = new PageImpl<>(java.util.List.of(new Driver()));
-
-        when(driverRepository.findAll(
+        when(driverRepository.findResponses(
                 org.mockito.ArgumentMatchers.<Specification<Driver>>any(),
-                any(Pageable.class)
+                any(Sort.class),
+                eq(0L),
+                eq(10)
         ))
-                .thenReturn(expected);
+                .thenReturn(List.of(responseCreatedAt(LocalDateTime.now())));
 
-        Page<Driver> result = driverService.search(filter, PageRequest.of(0, 10));
+        Page<DriverResponse> result = driverService.search(filter, PageRequest.of(0, 10));
 
         assertEquals(1, result.getTotalElements());
+        verify(driverRepository, never()).count(org.mockito.ArgumentMatchers.<Specification<Driver>>any());
+    }
+
+    @Test
+    void search_uses_in_memory_engine_when_ready() {
+        DriverFilter filter = new DriverFilter(null, null, "SP", null);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("name"));
+        Page<DriverResponse> inMemory = new PageImpl<>(List.of(responseCreatedAt(LocalDateTime.now())), pageable, 1);
+
+        when(driverSearchEngine.page(filter, pageable)).thenReturn(Optional.of(inMemory));
+
+        assertEquals(inMemory, driverService.search(filter, pageable));
+        verify(driverRepository, never()).findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(), any(Sort.class), anyLong(), anyInt());
+    }
+
+    @Test
+    void search_with_known_total_does_not_count_again() {
+        DriverFilter filter = new DriverFilter(null, null, "SP", null);
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("name"));
+
+        when(driverRepository.findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(), any(Sort.class), eq(0L), eq(1)))
+                .thenReturn(List.of(responseCreatedAt(LocalDateTime.now())));
+
+        Page<DriverResponse> page = driverService.search(filter, pageable, DriverField.ALL, 42);
+
+        assertEquals(42, page.getTotalElements());
+        verify(driverRepository, never()).count(org.mockito.ArgumentMatchers.<Specification<Driver>>any());
+    }
+
+    @Test
+    void search_records_timers_tagged_by_filters_and_sort() {
+        DriverFilter filter = new DriverFilter("maria", null, "SP", null);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("name"));
+
+        when(driverRepository.findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(),
+                any(Sort.class),
+                eq(0L),
+                eq(10)
+        ))
+                .thenReturn(List.of(responseCreatedAt(LocalDateTime.now())));
+
+        driverService.search(filter, pageable);
+
+        assertEquals(1, meterRegistry.get("drivers.search")
+                .tags("filters", "text+state", "sort", "name", "mode", "EXACT")
+                .timer()
+                .count());
+        assertEquals(1, meterRegistry.get("drivers.search.query").tag("query", "page").timer().count());
+        assertEquals(1.0, meterRegistry.get("drivers.search.results").summary().totalAmount());
+    }
+
+    @Test
+    void search_without_total_returns_slice_and_skips_count() {
+        DriverFilter filter = new DriverFilter("maria", null, null, null);
+        Pageable pageable = PageRequest.of(0, 1);
+
+        when(driverRepository.findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(),
+                any(Sort.class),
+                eq(0L),
+                eq(2)
+        ))
+                .thenReturn(List.of(
+                        responseCreatedAt(LocalDateTime.now()),
+                        responseCreatedAt(LocalDateTime.now())));
+
+        Slice<DriverResponse> result = driverService.search(filter, pageable, DriverTotalMode.NONE);
+
+        assertEquals(1, result.getNumberOfElements());
+        assertEquals(true, result.hasNext());
+        verify(driverRepository, never()).count(org.mockito.ArgumentMatchers.<Specification<Driver>>any());
+        verify(driverCountEstimator, never()).estimate(any());
+    }
+
+    @Test
+    void search_with_fields_reads_only_requested_columns() {
+        DriverFilter filter = new DriverFilter(null, null, "SP", null);
+        Pageable pageable = PageRequest.of(0, 10);
+        Set<DriverField> fields = DriverField.select(List.of(DriverField.NAME, DriverField.CITY));
+
+        when(driverRepository.findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(),
+                any(Sort.class),
+                eq(0L),
+                eq(11),
+                eq(fields)
+        ))
+                .thenReturn(List.of(responseCreatedAt(LocalDateTime.now())));
+
+        Slice<DriverResponse> result = driverService.search(filter, pageable, DriverTotalMode.NONE, fields);
+
+        assertEquals(1, result.getNumberOfElements());
+        assertEquals(Set.of(DriverField.ID, DriverField.NAME, DriverField.CITY), fields);
+        verify(driverRepository, never()).findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(),
+                any(Sort.class),
+                anyLong(),
+                anyInt());
+    }
+
+    @Test
+    void search_with_estimate_uses_planner_rows_as_total() {
+        DriverFilter filter = new DriverFilter(null, null, "SP", null);
+        Pageable pageable = PageRequest.of(0, 1);
+
+        when(driverRepository.findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(),
+                any(Sort.class),
+                eq(0L),
+                eq(2)
+        ))
+                .thenReturn(List.of(
+                        responseCreatedAt(LocalDateTime.now()),
+                        responseCreatedAt(LocalDateTime.now())));
+        when(driverCountEstimator.estimate(filter)).thenReturn(1500L);
+
+        Slice<DriverResponse> result = driverService.search(filter, pageable, DriverTotalMode.ESTIMATE);
+
+        assertEquals(1500L, ((Page<DriverResponse>) result).getTotalElements());
+    }
+
+    @Test
+    void find_by_id_throws_when_projection_is_empty() {
+        UUID id = UUID.randomUUID();
+
+        when(driverRepository.findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(),
+                any(Sort.class),
+                eq(0L),
+                eq(1)
+        ))
+                .thenReturn(List.of());
+
+        assertThrows(DriverNotFoundException.class, () -> driverService.findById(id));
+    }
+
+    @Test
+    void scroll_returns_next_cursor_from_last_row_when_more_rows_exist() {
+        DriverFilter filter = new DriverFilter(null, null, null, null);
+        DriverResponse first = responseCreatedAt(LocalDateTime.of(2026, 1, 2, 10, 0));
+        DriverResponse second = responseCreatedAt(LocalDateTime.of(2026, 1, 1, 10, 0));
+        DriverResponse extra = responseCreatedAt(LocalDateTime.of(2025, 12, 31, 10, 0));
+
+        when(driverRepository.findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(),
+                any(Sort.class),
+                eq(0L),
+                eq(3)
+        ))
+                .thenReturn(List.of(first, second, extra));
+
+        CursorPage<DriverResponse> result = driverService.scroll(
+                filter, "", DriverSortBy.CREATED_AT, Sort.Direction.DESC, 2);
+
+        assertEquals(List.of(first, second), result.content());
+        assertNotNull(result.nextCursor());
+
+        DriverCursor next = DriverCursor.decode(result.nextCursor());
+        assertEquals(second.id(), next.id());
+        assertEquals(second.createdAt(), next.sortValue());
+    }
+
+    @Test
+    void scroll_returns_null_cursor_on_last_page() {
+        DriverFilter filter = new DriverFilter(null, null, null, null);
+
+        when(driverRepository.findResponses(
+                org.mockito.ArgumentMatchers.<Specification<Driver>>any(),
+                any(Sort.class),
+                eq(0L),
+                eq(3)
+        ))
+                .thenReturn(List.of(responseCreatedAt(LocalDateTime.now())));
+
+        CursorPage<DriverResponse> result = driverService.scroll(
+                filter, null, DriverSortBy.CREATED_AT, Sort.Direction.DESC, 2);
+
+        assertEquals(1, result.content().size());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void scroll_rejects_cursor_from_another_sort() {
+        DriverFilter filter = new DriverFilter(null, null, null, null);
+        String cursor = new DriverCursor(DriverSortBy.NAME, Sort.Direction.ASC, UUID.randomUUID(), "Maria")
+                .encode();
+
+        assertThrows(InvalidCursorException.class, () -> driverService.scroll(
+                filter, cursor, DriverSortBy.CREATED_AT, Sort.Direction.DESC, 10));
+    }
+
+    private static DriverResponse withState(DriverResponse driver, boolean active, long version) {
+        return new DriverResponse(driver.id(), driver.name(), driver.email(), driver.phone(), driver.city(),
+                driver.state(), driver.vehicleTypes(), active, driver.createdAt(), driver.updatedAt(), version,
+                driver.latitude(), driver.longitude());
+    }
+
+    private static DriverResponse responseCreatedAt(LocalDateTime createdAt) {
+        return new DriverResponse(
+                UUID.randomUUID(),
+                "Maria",
+                "maria@fretemais.com",
+                null,
+                "Sao Paulo",
+                "SP",
+                Set.of(VehicleType.VAN),
+                true,
+                createdAt,
+                createdAt,
+                0L,
+                null,
+                null
+        );
     }
 }
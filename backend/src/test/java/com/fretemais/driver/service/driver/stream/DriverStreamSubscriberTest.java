@@ -0,0 +1,164 @@
+package com.fretemais.driver.service.driver.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fretemais.driver.service.driver.domain.VehicleType;
+import com.fretemais.driver.service.driver.dto.DriverFilter;
+import com.fretemais.driver.service.driver.dto.DriverResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class DriverStreamSubscriberTest {
+
+    @Mock
+    private SseEmitter emitter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Counter coalesced = meterRegistry.counter("coalesced");
+    private final Counter dropped = meterRegistry.counter("dropped");
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    @Test
+    void offer_ignores_drivers_outside_the_filter() throws IOException {
+        DriverStreamSubscriber subscriber = subscriber(new DriverFilter("maria", null, "sp", Set.of(VehicleType.VAN)), 10);
+
+        subscriber.offer(event(DriverEvent.Type.CREATED, driver("Joao", "SP", VehicleType.VAN)));
+        subscriber.offer(event(DriverEvent.Type.CREATED, driver("Maria", "RJ", VehicleType.VAN)));
+        subscriber.offer(event(DriverEvent.Type.CREATED, driver("Maria", "SP", VehicleType.TRUCK)));
+
+        assertTrue(tasks.isEmpty());
+
+        subscriber.offer(event(DriverEvent.Type.CREATED, driver("Maria Silva", "SP", VehicleType.VAN)));
+        runTasks();
+
+        assertEquals(List.of("event:created"), sentEventNames(1));
+    }
+
+    @Test
+    void update_moving_driver_out_of_filter_sends_left() throws IOException {
+        DriverStreamSubscriber subscriber = subscriber(new DriverFilter(null, null, "sp", null), 10);
+        DriverResponse before = driver("Maria", "SP", VehicleType.VAN);
+        DriverResponse after = withState(before, "RJ");
+        DriverResponse elsewhere = driver("Joao", "RJ", VehicleType.VAN);
+
+        subscriber.offer(new DriverEvent(DriverEvent.Type.UPDATED, after, before));
+        subscriber.offer(new DriverEvent(DriverEvent.Type.UPDATED, withState(elsewhere, "MG"), elsewhere));
+        runTasks();
+
+        assertEquals(List.of("event:left"), sentEventNames(1));
+    }
+
+    @Test
+    void offer_coalesces_per_driver_and_drops_oldest_when_buffer_is_full() throws IOException {
+        DriverStreamSubscriber subscriber = subscriber(new DriverFilter(null, null, null, null), 2);
+        DriverResponse first = driver("Maria", "SP", VehicleType.VAN);
+        DriverResponse second = driver("Joao", "SP", VehicleType.VAN);
+        DriverResponse third = driver("Ana", "SP", VehicleType.VAN);
+
+        subscriber.offer(event(DriverEvent.Type.CREATED, second));
+        subscriber.offer(event(DriverEvent.Type.CREATED, first));
+        subscriber.offer(event(DriverEvent.Type.UPDATED, second));
+        subscriber.offer(event(DriverEvent.Type.UPDATED, third));
+
+        assertEquals(1, tasks.size());
+        runTasks();
+
+        assertEquals(List.of("event:overflow", "event:created", "event:updated"), sentEventNames(3));
+        assertEquals(1.0, coalesced.count());
+        assertEquals(1.0, dropped.count());
+    }
+
+    @Test
+    void send_failure_closes_subscriber() throws IOException {
+        DriverStreamSubscriber subscriber = subscriber(new DriverFilter(null, null, null, null), 10);
+        doThrow(new IOException("broken pipe")).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+
+        subscriber.offer(event(DriverEvent.Type.CREATED, driver("Maria", "SP", VehicleType.VAN)));
+        runTasks();
+        subscriber.offer(event(DriverEvent.Type.UPDATED, driver("Joao", "SP", VehicleType.VAN)));
+
+        assertEquals(1, closed.get());
+        assertTrue(tasks.isEmpty());
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void heartbeat_sends_comment_only_when_idle() throws IOException {
+        DriverStreamSubscriber subscriber = subscriber(new DriverFilter(null, null, null, null), 10);
+
+        subscriber.heartbeat();
+        subscriber.offer(event(DriverEvent.Type.CREATED, driver("Maria", "SP", VehicleType.VAN)));
+        runTasks();
+
+        assertEquals(List.of("event:created"), sentEventNames(1));
+        verify(emitter, never()).complete();
+    }
+
+    private DriverStreamSubscriber subscriber(DriverFilter filter, int capacity) {
+        return new DriverStreamSubscriber(filter, emitter, capacity, tasks::add, coalesced, dropped,
+                subscriber -> {
+                    closed.incrementAndGet();
+                    subscriber.close();
+                });
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+    }
+
+    private List<String> sentEventNames(int expected) throws IOException {
+        ArgumentCaptor<SseEmitter.SseEventBuilder> captor = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, times(expected)).send(captor.capture());
+
+        return captor.getAllValues().stream()
+                .map(builder -> builder.build().stream()
+                        .map(part -> String.valueOf(part.getData()))
+                        .collect(Collectors.joining()))
+                .map(raw -> raw.lines().filter(line -> line.startsWith("event:")).findFirst().orElse(raw))
+                .toList();
+    }
+
+    private static DriverResponse withState(DriverResponse driver, String state) {
+        return new DriverResponse(driver.id(), driver.name(), driver.email(), driver.phone(), driver.city(), state,
+                driver.vehicleTypes(), driver.active(), driver.createdAt(), LocalDateTime.now(), driver.version() + 1,
+                driver.latitude(), driver.longitude());
+    }
+
+    private static DriverEvent event(DriverEvent.Type type, DriverResponse driver) {
+        return new DriverEvent(type, driver);
+    }
+
+    private static DriverResponse driver(String name, String state, VehicleType vehicleType) {
+        LocalDateTime now = LocalDateTime.now();
+        return new DriverResponse(UUID.randomUUID(), name, null, null, "Sao Paulo", state, Set.of(vehicleType), true,
+                now, now, 0L, null, null);
+    }
+}
@@ -12,7 +12,7 @@ import {
   fetchDrivers,
   PAGE_SIZE_OPTIONS,
   parseDriverSearchParams,
-  type Driver,
+  type DriverListItem,
   type DriverFilters,
   type DriverSortValue,
   type PageSizeOption,
@@ -39,7 +39,7 @@ export default function DriversPage() {
   const [appliedFilters, setAppliedFilters] = useState<DriverFilters>(
     EMPTY_FILTERS
   );
-  const [drivers, setDrivers] = useState<Driver[]>([]);
+  const [drivers, setDrivers] = useState<DriverListItem[]>([]);
   const [page, setPage] = useState(0);
   const [pageSize, setPageSize] = useState<PageSizeOption>(DEFAULT_PAGE_SIZE);
   const [totalElements, setTotalElements] = useState(0);
@@ -84,12 +84,13 @@ export default function DriversPage() {
 
     try {
       const data = await fetchDrivers(appliedFilters, page, sortValue, pageSize);
+      const total = data.total ?? 0;
       setDrivers(data.content ?? []);
-      setTotalElements(data.totalElements ?? 0);
-      setTotalPages(data.totalPages ?? 0);
+      setTotalElements(total);
+      setTotalPages(data.size > 0 ? Math.ceil(total / data.size) : 0);
 
-      if (typeof data.number === "number" && data.number !== page) {
-        setPage(data.number);
+      if (typeof data.page === "number" && data.page !== page) {
+        setPage(data.page);
       }
     } catch (err) {
       if (err instanceof ApiRequestError && err.status === 401) {
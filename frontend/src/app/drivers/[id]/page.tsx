@@ -35,6 +35,7 @@ export default function DriverDetailPage() {
 
   const [form, setForm] = useState<DriverFormValues>(INITIAL_VALUES);
   const [active, setActive] = useState(false);
+  const [version, setVersion] = useState<number | undefined>(undefined);
   const [isLoading, setIsLoading] = useState(true);
   const [isSaving, setIsSaving] = useState(false);
   const [loadError, setLoadError] = useState<string | null>(null);
@@ -60,8 +61,11 @@ export default function DriverDetailPage() {
         city: data.city ?? "",
         state: data.state ?? "",
         vehicleTypes: data.vehicleTypes ?? [],
+        latitude: data.latitude,
+        longitude: data.longitude,
       });
       setActive(data.active);
+      setVersion(data.version);
     } catch (err) {
       if (err instanceof ApiRequestError) {
         if (err.status === 401) {
@@ -122,6 +126,9 @@ export default function DriverDetailPage() {
       city: form.city.trim(),
       state: form.state.trim(),
       vehicleTypes: form.vehicleTypes,
+      latitude: form.latitude ?? null,
+      longitude: form.longitude ?? null,
+      version,
     };
 
     setIsSaving(true);
@@ -11,6 +11,7 @@ const API_BASE_URL =
 
 type LoginResponse = {
   token: string;
+  refreshToken: string;
   expiresAt: string;
 };
 
@@ -67,6 +68,7 @@ export default function LoginPage() {
       const data = (await response.json()) as LoginResponse;
 
       localStorage.setItem("auth_token", data.token);
+      localStorage.setItem("auth_refresh_token", data.refreshToken);
       localStorage.setItem("auth_expires_at", data.expiresAt);
       localStorage.setItem("auth_email", email);
 
@@ -1,6 +1,6 @@
 import Link from "next/link";
 
-import { type Driver, SORT_OPTIONS, type DriverSortValue } from "@/lib/drivers";
+import { type DriverListItem, SORT_OPTIONS, type DriverSortValue } from "@/lib/drivers";
 import StatusBadge from "@/components/StatusBadge";
 
 const skeletonRows = Array.from({ length: 5 }, (_, index) => (
@@ -28,7 +28,7 @@ const skeletonRows = Array.from({ length: 5 }, (_, index) => (
 ));
 
 type DriversTableProps = {
-  drivers: Driver[];
+  drivers: DriverListItem[];
   isLoading: boolean;
   sortValue: DriverSortValue;
   onSortChange: (value: DriverSortValue) => void;
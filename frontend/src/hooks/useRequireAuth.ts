@@ -3,7 +3,7 @@
 import { useCallback, useEffect } from "react";
 import { useRouter } from "next/navigation";
 
-import { clearAuthToken, getAuthToken } from "@/lib/api";
+import { clearAuthToken, getAuthToken, revokeRefreshToken } from "@/lib/api";
 
 export function useRequireAuth() {
   const router = useRouter();
@@ -15,6 +15,7 @@ export function useRequireAuth() {
   }, [router]);
 
   const logout = useCallback(() => {
+    void revokeRefreshToken();
     clearAuthToken();
     router.push("/login");
   }, [router]);
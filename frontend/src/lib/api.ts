@@ -17,12 +17,12 @@ export class ApiRequestError extends Error {
   }
 }
 
-export type PageResponse<T> = {
+export type CompactPageResponse<T> = {
   content: T[];
-  totalElements: number;
-  totalPages: number;
+  page: number;
   size: number;
-  number: number;
+  total?: number;
+  hasNext: boolean;
 };
 
 export function getAuthToken(): string | null {
@@ -39,13 +39,84 @@ export function clearAuthToken() {
   }
 
   localStorage.removeItem("auth_token");
+  localStorage.removeItem("auth_refresh_token");
   localStorage.removeItem("auth_expires_at");
   localStorage.removeItem("auth_email");
 }
 
+type RefreshResponse = {
+  token: string;
+  expiresAt: string;
+  refreshToken: string;
+};
+
+let refreshInFlight: Promise<boolean> | null = null;
+
+// Renova o token de acesso com o refresh token guardado. Chamadas simultaneas
+// compartilham a mesma renovacao, pois cada refresh token so pode ser usado uma vez.
+function refreshAuthToken(): Promise<boolean> {
+  if (refreshInFlight) {
+    return refreshInFlight;
+  }
+
+  const refreshToken =
+    typeof window === "undefined" ? null : localStorage.getItem("auth_refresh_token");
+  if (!refreshToken) {
+    return Promise.resolve(false);
+  }
+
+  refreshInFlight = (async () => {
+    try {
+      const response = await fetch(`${API_BASE_URL}/auth/refresh`, {
+        method: "POST",
+        headers: { "Content-Type": "application/json" },
+        body: JSON.stringify({ refreshToken }),
+      });
+
+      if (!response.ok) {
+        return false;
+      }
+
+      const data = (await response.json()) as RefreshResponse;
+      localStorage.setItem("auth_token", data.token);
+      localStorage.setItem("auth_refresh_token", data.refreshToken);
+      localStorage.setItem("auth_expires_at", data.expiresAt);
+      return true;
+    } catch {
+      return false;
+    } finally {
+      refreshInFlight = null;
+    }
+  })();
+
+  return refreshInFlight;
+}
+
+export async function revokeRefreshToken() {
+  if (typeof window === "undefined") {
+    return;
+  }
+
+  const refreshToken = localStorage.getItem("auth_refresh_token");
+  if (!refreshToken) {
+    return;
+  }
+
+  try {
+    await fetch(`${API_BASE_URL}/auth/logout`, {
+      method: "POST",
+      headers: { "Content-Type": "application/json" },
+      body: JSON.stringify({ refreshToken }),
+    });
+  } catch {
+    // ignore
+  }
+}
+
 export async function apiRequest<T>(
   path: string,
-  options: RequestInit = {}
+  options: RequestInit = {},
+  retried = false
 ): Promise<T> {
   const headers = new Headers(options.headers ?? {});
 
@@ -63,6 +134,10 @@ export async function apiRequest<T>(
     headers,
   });
 
+  if (response.status === 401 && !retried && (await refreshAuthToken())) {
+    return apiRequest<T>(path, options, true);
+  }
+
   if (!response.ok) {
     let message = `Request failed with status ${response.status}`;
     let fields: Record<string, string> | undefined;
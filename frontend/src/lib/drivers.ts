@@ -1,4 +1,4 @@
-import { apiRequest, type PageResponse } from "@/lib/api";
+import { apiRequest, type CompactPageResponse } from "@/lib/api";
 
 export type Driver = {
   id: string;
@@ -11,8 +11,23 @@ export type Driver = {
   active: boolean;
   createdAt: string;
   updatedAt: string;
+  version: number;
+  latitude: number | null;
+  longitude: number | null;
 };
 
+export const DRIVER_LIST_FIELDS = [
+  "name",
+  "email",
+  "phone",
+  "city",
+  "state",
+  "vehicleTypes",
+  "active",
+] as const;
+
+export type DriverListItem = Pick<Driver, "id" | (typeof DRIVER_LIST_FIELDS)[number]>;
+
 export type DriverPayload = {
   name: string;
   email: string;
@@ -20,6 +35,9 @@ export type DriverPayload = {
   city: string;
   state: string;
   vehicleTypes: string[];
+  latitude?: number | null;
+  longitude?: number | null;
+  version?: number;
 };
 
 export type DriverFilters = {
@@ -173,8 +191,10 @@ export async function fetchDrivers(
   params.set("size", String(pageSize));
   params.set("sortBy", sortBy);
   params.set("sortDir", sortDir);
+  params.set("fields", DRIVER_LIST_FIELDS.join(","));
+  params.set("envelope", "COMPACT");
 
-  return apiRequest<PageResponse<Driver>>(`/drivers?${params.toString()}`, {
+  return apiRequest<CompactPageResponse<DriverListItem>>(`/drivers?${params.toString()}`, {
     cache: "no-store",
   });
 }